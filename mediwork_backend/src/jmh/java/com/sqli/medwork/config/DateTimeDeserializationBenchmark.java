@@ -0,0 +1,66 @@
+package com.sqli.medwork.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the flexible LocalDateTime deserializer registered by {@link DateTimeConfig}.
+ *
+ * Each benchmark reads one request-sized payload ({"startTime", "endTime"}) in one of the accepted
+ * formats; isoDefaultModule is the stock JavaTimeModule on the ISO format, as a baseline.
+ *
+ * Run: mvn -Pjmh package exec:exec -DskipTests -Djmh.args="DateTimeDeserializationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class DateTimeDeserializationBenchmark {
+
+    private static final String ISO_SECONDS = "{\"startTime\":\"2025-08-26T03:32:15\",\"endTime\":\"2025-08-26T04:02:15\"}";
+    private static final String ISO_MINUTES = "{\"startTime\":\"2025-08-26T03:32\",\"endTime\":\"2025-08-26T04:02\"}";
+    private static final String SPACE_SECONDS = "{\"startTime\":\"2025-08-26 03:32:15\",\"endTime\":\"2025-08-26 04:02:15\"}";
+
+    /** Shape of the time range carried by slot and visit requests */
+    public static class TimeRange {
+        public LocalDateTime startTime;
+        public LocalDateTime endTime;
+    }
+
+    private ObjectReader flexibleReader;
+    private ObjectReader defaultReader;
+
+    @Setup
+    public void setUp() {
+        flexibleReader = new DateTimeConfig().objectMapper().readerFor(TimeRange.class);
+        defaultReader = new ObjectMapper().registerModule(new JavaTimeModule()).readerFor(TimeRange.class);
+    }
+
+    @Benchmark
+    public TimeRange isoSeconds() throws Exception {
+        return flexibleReader.readValue(ISO_SECONDS);
+    }
+
+    @Benchmark
+    public TimeRange isoMinutes() throws Exception {
+        return flexibleReader.readValue(ISO_MINUTES);
+    }
+
+    @Benchmark
+    public TimeRange spaceSeparated() throws Exception {
+        return flexibleReader.readValue(SPACE_SECONDS);
+    }
+
+    @Benchmark
+    public TimeRange isoDefaultModule() throws Exception {
+        return defaultReader.readValue(ISO_SECONDS);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access tokens signed per second on a single thread (login and refresh path).
+ *
+ * issueAndVerify is a full round trip: the token a client receives and sends back on its next request.
+ *
+ * Run: mvn -Pjmh package exec:exec -DskipTests -Djmh.args="JwtGenerationBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class JwtGenerationBenchmark {
+
+    private static final String SECRET = "1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff";
+
+    private JwtService jwtService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L);
+        user = User.builder().id(1L).email("bench.user@medwork.com").role(Role.COLLABORATOR).build();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken issueAndVerify() {
+        return jwtService.verify(jwtService.generateToken(user));
+    }
+}
@@ -0,0 +1,65 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second on a single thread (one core).
+ *
+ * legacyFilterPath reproduces the previous filter behaviour: key and parser rebuilt
+ * on every call, token parsed three times (extractEmail + isTokenValid).
+ * verifyOnce is the current path: cached key/parser, one parse per request.
+ *
+ * Run: mvn -Pjmh package exec:exec -DskipTests -Djmh.args="JwtVerificationBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff1234ff";
+    private static final String EMAIL = "bench.user@medwork.com";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L);
+        token = jwtService.generateToken(User.builder().id(1L).email(EMAIL).role(Role.COLLABORATOR).build());
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String email = legacyClaims(token).getSubject();
+        String subject = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return subject.equals(email) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return jwtService.verify(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
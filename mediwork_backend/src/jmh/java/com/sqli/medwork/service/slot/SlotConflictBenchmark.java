@@ -0,0 +1,117 @@
+package com.sqli.medwork.service.slot;
+
+import com.sqli.medwork.entity.Slot;
+import com.sqli.medwork.enums.SlotStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict detection of a candidate time range against one doctor's calendar, in memory.
+ *
+ * linearScan applies the overlap predicate to every slot (what the conflict query does without a
+ * usable index); sortedSearch binary-searches the calendar sorted by start time, which is valid
+ * because a doctor's existing slots never overlap each other. Candidates alternate between free and
+ * conflicting ranges.
+ *
+ * Run: mvn -Pjmh package exec:exec -DskipTests -Djmh.args="SlotConflictBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class SlotConflictBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 9, 1, 8, 0);
+    private static final int CANDIDATES = 1024;
+
+    @Param({"50", "500", "5000"})
+    private int slots;
+
+    private List<Slot> calendar;
+    private LocalDateTime[] candidateStarts;
+    private LocalDateTime[] candidateEnds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // 30 min slots separated by 15 min gaps
+        calendar = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            LocalDateTime start = BASE.plusMinutes(45L * i);
+            calendar.add(Slot.builder()
+                    .id((long) i + 1)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(30))
+                    .status(i % 4 == 0 ? SlotStatus.UNAVAILABLE : SlotStatus.AVAILABLE)
+                    .build());
+        }
+
+        candidateStarts = new LocalDateTime[CANDIDATES];
+        candidateEnds = new LocalDateTime[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            long slotIndex = (i * 7919L) % slots;
+            // Even: inside the gap after the slot (free), odd: straddling its end (conflict)
+            LocalDateTime start = BASE.plusMinutes(45 * slotIndex + (i % 2 == 0 ? 30 : 20));
+            candidateStarts[i] = start;
+            candidateEnds[i] = start.plusMinutes(15);
+        }
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        int i = nextCandidate();
+        LocalDateTime start = candidateStarts[i];
+        LocalDateTime end = candidateEnds[i];
+        for (Slot slot : calendar) {
+            if (slot.getStatus() != SlotStatus.UNAVAILABLE && overlaps(slot, start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean sortedSearch() {
+        int i = nextCandidate();
+        LocalDateTime start = candidateStarts[i];
+        LocalDateTime end = candidateEnds[i];
+
+        // First slot ending after the candidate start (end times are sorted too)
+        int low = 0;
+        int high = calendar.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (calendar.get(mid).getEndTime().isAfter(start)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        for (int j = low; j < calendar.size() && calendar.get(j).getStartTime().isBefore(end); j++) {
+            if (calendar.get(j).getStatus() != SlotStatus.UNAVAILABLE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same predicate as SlotRepository.findConflictingSlots: touching slots (end == start) do not overlap
+     */
+    private static boolean overlaps(Slot slot, LocalDateTime start, LocalDateTime end) {
+        return slot.getStartTime().isBefore(end) && slot.getEndTime().isAfter(start);
+    }
+
+    private int nextCandidate() {
+        int i = next;
+        next = (i + 1) & (CANDIDATES - 1);
+        return i;
+    }
+}
@@ -0,0 +1,108 @@
+package com.sqli.medwork.service.visit;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
+import com.sqli.medwork.config.DateTimeConfig;
+import com.sqli.medwork.dto.response.SlotResponse;
+import com.sqli.medwork.dto.response.VisitResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes per second of List&lt;VisitResponse&gt; / List&lt;SlotResponse&gt; serialisation, before and after the fast path.
+ *
+ * baseline: reflective mapper with formatter-based date serializers, writer built per response as the
+ * default Spring converter does. tuned: {@link DateTimeConfig} mapper (Blackbird, ISO serializers) with a
+ * cached writer, as CachedWriterJsonConverter does. Both must produce identical bytes.
+ * The "bytes" secondary result is the serialised throughput in bytes per second.
+ *
+ * Run: mvn -Pjmh package exec:exec -DskipTests -Djmh.args="JsonWriterThroughputBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class JsonWriterThroughputBenchmark {
+
+    @Param({"1000"})
+    private int items;
+
+    @Param({"baseline", "tuned"})
+    private String path;
+
+    private ObjectMapper mapper;
+    private ObjectWriter cachedVisitsWriter;
+    private ObjectWriter cachedSlotsWriter;
+    private JavaType visitsType;
+    private JavaType slotsType;
+    private List<VisitResponse> visits;
+    private List<SlotResponse> slots;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Output {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        visits = VisitFixtures.visits(items).stream().map(new VisitMapper()::toResponse).toList();
+        slots = VisitFixtures.slotResponses(items);
+
+        ObjectMapper tuned = new DateTimeConfig().objectMapper();
+        ObjectMapper baseline = baselineMapper();
+        mapper = "tuned".equals(path) ? tuned : baseline;
+        visitsType = mapper.getTypeFactory().constructCollectionType(List.class, VisitResponse.class);
+        slotsType = mapper.getTypeFactory().constructCollectionType(List.class, SlotResponse.class);
+        cachedVisitsWriter = mapper.writerFor(visitsType);
+        cachedSlotsWriter = mapper.writerFor(slotsType);
+
+        if (!Arrays.equals(baseline.writeValueAsBytes(visits), tuned.writeValueAsBytes(visits))
+                || !Arrays.equals(baseline.writeValueAsBytes(slots), tuned.writeValueAsBytes(slots))) {
+            throw new IllegalStateException("Tuned serialisation output differs from the baseline");
+        }
+    }
+
+    @Benchmark
+    public int serializeVisits(Output output) throws Exception {
+        return write(visitsType, cachedVisitsWriter, visits, output);
+    }
+
+    @Benchmark
+    public int serializeSlots(Output output) throws Exception {
+        return write(slotsType, cachedSlotsWriter, slots, output);
+    }
+
+    private int write(JavaType type, ObjectWriter cached, Object value, Output output) throws Exception {
+        output.buffer.reset();
+        ObjectWriter writer = "tuned".equals(path) ? cached : mapper.writer().forType(type);
+        writer.writeValue(output.buffer, value);
+        output.bytes += output.buffer.size();
+        return output.buffer.size();
+    }
+
+    /**
+     * The application mapper as configured before the fast path
+     */
+    private static ObjectMapper baselineMapper() {
+        JavaTimeModule javaTimeModule = new JavaTimeModule();
+        javaTimeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        javaTimeModule.addSerializer(LocalTime.class, new LocalTimeSerializer(DateTimeFormatter.ofPattern("HH:mm")));
+        return new ObjectMapper().registerModule(javaTimeModule);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sqli.medwork.service.visit;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sqli.medwork.config.DateTimeConfig;
+import com.sqli.medwork.dto.response.SlotResponse;
+import com.sqli.medwork.dto.response.VisitResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialisation of large list payloads with the application ObjectMapper ({@link DateTimeConfig}).
+ *
+ * Output is written to a byte array, which is what the message converter streams to the response.
+ * SlotResponse includes its derived getters (formatted date/time, flags), as in the API.
+ *
+ * Run: mvn -Pjmh package exec:exec -DskipTests -Djmh.args="ResponseSerializationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int items;
+
+    private ObjectWriter writer;
+    private List<VisitResponse> visits;
+    private List<SlotResponse> slots;
+
+    @Setup
+    public void setUp() {
+        writer = new DateTimeConfig().objectMapper().writer();
+        visits = VisitFixtures.visits(items).stream().map(new VisitMapper()::toResponse).toList();
+        slots = VisitFixtures.slotResponses(items);
+    }
+
+    @Benchmark
+    public byte[] serializeVisits() throws Exception {
+        return writer.writeValueAsBytes(visits);
+    }
+
+    @Benchmark
+    public byte[] serializeSlots() throws Exception {
+        return writer.writeValueAsBytes(slots);
+    }
+}
@@ -0,0 +1,98 @@
+package com.sqli.medwork.service.visit;
+
+import com.sqli.medwork.dto.response.SlotResponse;
+import com.sqli.medwork.entity.Slot;
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.entity.Visit;
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.enums.SlotStatus;
+import com.sqli.medwork.enums.VisitStatus;
+import com.sqli.medwork.enums.VisitType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic in-memory visits and slots shared by the visit benchmarks
+ */
+final class VisitFixtures {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 9, 1, 8, 0);
+    private static final VisitType[] TYPES = VisitType.values();
+    private static final SlotStatus[] SLOT_STATUSES = SlotStatus.values();
+
+    private VisitFixtures() {
+    }
+
+    static List<Visit> visits(int count) {
+        List<User> doctors = users(20, Role.DOCTOR, "dr");
+        List<User> collaborators = users(500, Role.COLLABORATOR, "collab");
+        User rh = users(1, Role.RH, "rh").get(0);
+
+        List<Visit> visits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User doctor = doctors.get(i % doctors.size());
+            LocalDateTime start = BASE.plusMinutes(30L * i);
+            Slot slot = Slot.builder()
+                    .id((long) i + 1)
+                    .doctor(doctor)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(30))
+                    .status(SlotStatus.CONFIRMED)
+                    .createdAt(BASE)
+                    .build();
+            visits.add(Visit.builder()
+                    .id((long) i + 1)
+                    .collaborator(collaborators.get(i % collaborators.size()))
+                    .doctor(doctor)
+                    .slot(slot)
+                    .visitType(TYPES[i % TYPES.length])
+                    .status(VisitStatus.SCHEDULED)
+                    .createdBy(rh)
+                    .createdAt(BASE)
+                    .updatedAt(BASE.plusHours(1))
+                    .build());
+        }
+        return visits;
+    }
+
+    static List<SlotResponse> slotResponses(int count) {
+        List<User> doctors = users(20, Role.DOCTOR, "dr");
+        List<SlotResponse> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User doctor = doctors.get(i % doctors.size());
+            LocalDateTime start = BASE.plusMinutes(30L * i);
+            slots.add(SlotResponse.builder()
+                    .id((long) i + 1)
+                    .doctor(SlotResponse.DoctorInfoDto.builder()
+                            .id(doctor.getId())
+                            .firstName(doctor.getFirstName())
+                            .lastName(doctor.getLastName())
+                            .email(doctor.getEmail())
+                            .matricule(doctor.getMatricule())
+                            .build())
+                    .startTime(start)
+                    .endTime(start.plusMinutes(30))
+                    .status(SLOT_STATUSES[i % SLOT_STATUSES.length])
+                    .createdAt(BASE)
+                    .build());
+        }
+        return slots;
+    }
+
+    private static List<User> users(int count, Role role, String prefix) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .id((long) role.ordinal() * 100_000 + i)
+                    .firstName("Prenom" + i)
+                    .lastName("Nom" + i)
+                    .email(prefix + i + "@medwork.com")
+                    .matricule(prefix.toUpperCase() + String.format("%05d", i))
+                    .role(role)
+                    .build());
+        }
+        return users;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sqli.medwork.service.visit;
+
+import com.sqli.medwork.dto.response.VisitResponse;
+import com.sqli.medwork.entity.Visit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a visit list, as done by every VisitService listing endpoint
+ * (stream + {@link VisitMapper#toResponse}). Entities are fully initialised: no lazy loading.
+ *
+ * Run: mvn -Pjmh package exec:exec -DskipTests -Djmh.args="VisitMappingBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class VisitMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int visits;
+
+    private final VisitMapper visitMapper = new VisitMapper();
+    private List<Visit> entities;
+
+    @Setup
+    public void setUp() {
+        entities = VisitFixtures.visits(visits);
+    }
+
+    @Benchmark
+    public List<VisitResponse> mapVisits() {
+        return entities.stream().map(visitMapper::toResponse).toList();
+    }
+}
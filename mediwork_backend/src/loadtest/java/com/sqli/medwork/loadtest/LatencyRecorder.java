@@ -0,0 +1,75 @@
+package com.sqli.medwork.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Raw latency samples per endpoint for one virtual user (not thread-safe; merged at the end of the run)
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new LinkedHashMap<>();
+
+    void record(String endpoint, long latencyNanos, int status) {
+        byEndpoint.computeIfAbsent(endpoint, e -> new Samples()).add(latencyNanos, status);
+    }
+
+    Map<String, Samples> samples() {
+        return byEndpoint;
+    }
+
+    /**
+     * Latencies of one endpoint, with the count of rejected (4xx) and failed (5xx / I/O) calls
+     */
+    static class Samples {
+
+        private long[] latencies = new long[256];
+        private int count;
+        private int rejected;
+        private int failed;
+
+        void add(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status >= 500 || status < 0) {
+                failed++;
+            } else if (status >= 400) {
+                rejected++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            rejected += other.rejected;
+            failed += other.failed;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int rejected() {
+            return rejected;
+        }
+
+        int failed() {
+            return failed;
+        }
+
+        /**
+         * @return Sorted copy of the recorded latencies
+         */
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
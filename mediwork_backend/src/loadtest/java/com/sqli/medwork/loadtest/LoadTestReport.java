@@ -0,0 +1,91 @@
+package com.sqli.medwork.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Throughput and latency percentiles per endpoint, printed as a table and written as JSON
+ */
+record LoadTestReport(int virtualUsers, double durationSeconds, List<EndpointReport> endpoints) {
+
+    record EndpointReport(String endpoint, int requests, int rejected, int failed, double throughputPerSecond,
+                          double meanMs, double p50Ms, double p90Ms, double p95Ms, double p99Ms, double p999Ms,
+                          double maxMs) {
+    }
+
+    static LoadTestReport of(List<LatencyRecorder> recorders, int virtualUsers, double durationSeconds) {
+        Map<String, LatencyRecorder.Samples> merged = new TreeMap<>();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.samples().forEach((endpoint, samples) ->
+                    merged.computeIfAbsent(endpoint, e -> new LatencyRecorder.Samples()).addAll(samples));
+        }
+
+        List<EndpointReport> endpoints = new ArrayList<>();
+        LatencyRecorder.Samples total = new LatencyRecorder.Samples();
+        merged.forEach((endpoint, samples) -> {
+            endpoints.add(summarize(endpoint, samples, durationSeconds));
+            total.addAll(samples);
+        });
+        endpoints.add(summarize("TOTAL", total, durationSeconds));
+        return new LoadTestReport(virtualUsers, durationSeconds, endpoints);
+    }
+
+    private static EndpointReport summarize(String endpoint, LatencyRecorder.Samples samples, double durationSeconds) {
+        long[] sorted = samples.sorted();
+        double sum = 0;
+        for (long latency : sorted) {
+            sum += latency;
+        }
+        double mean = sorted.length > 0 ? sum / sorted.length : 0;
+        return new EndpointReport(endpoint, samples.count(), samples.rejected(), samples.failed(),
+                round(samples.count() / durationSeconds),
+                toMillis(mean), percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 95),
+                percentile(sorted, 99), percentile(sorted, 99.9),
+                sorted.length > 0 ? toMillis(sorted[sorted.length - 1]) : 0);
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return toMillis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double toMillis(double nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%n%d virtual users, %.0f s%n", virtualUsers, durationSeconds));
+        String format = "%-62s %9s %7s %7s %9s %8s %8s %8s %8s %8s %9s %9s%n";
+        table.append(String.format(format, "Endpoint", "Requests", "4xx", "Failed", "Req/s",
+                "Mean ms", "p50", "p90", "p95", "p99", "p99.9", "Max"));
+        for (EndpointReport e : endpoints) {
+            table.append(String.format(format, e.endpoint(), e.requests(), e.rejected(), e.failed(),
+                    e.throughputPerSecond(), e.meanMs(), e.p50Ms(), e.p90Ms(), e.p95Ms(), e.p99Ms(),
+                    e.p999Ms(), e.maxMs()));
+        }
+        return table.toString();
+    }
+
+    void writeJson(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+    }
+}
@@ -0,0 +1,124 @@
+package com.sqli.medwork.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqli.medwork.MedworkAppApplication;
+import com.sqli.medwork.enums.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on the loadtest profile (in-memory H2, seeded by {@link SyntheticDataSeeder}),
+ * then drives it over HTTP with concurrent virtual users and reports throughput and latency per endpoint.
+ *
+ * Run: mvn -Ploadtest compile exec:exec -Dloadtest.args="--loadtest.virtual-users=200 --loadtest.duration-seconds=120"
+ * Any application or loadtest.* property can be overridden the same way.
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        int exitCode = 0;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MedworkAppApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+            Environment env = context.getEnvironment();
+            SeededDataset dataset = context.getBean(SyntheticDataSeeder.class).dataset();
+            String baseUrl = "http://localhost:" + env.getRequiredProperty("local.server.port", Integer.class);
+
+            LoadTestReport report = drive(env, dataset, baseUrl, context.getBean(ObjectMapper.class));
+            log.info(report.toTable());
+
+            Path reportFile = Path.of(env.getProperty("loadtest.report-file", "target/loadtest-report.json"));
+            report.writeJson(reportFile);
+            log.info("Load test report written to {}", reportFile.toAbsolutePath());
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private static LoadTestReport drive(Environment env, SeededDataset dataset, String baseUrl,
+                                        ObjectMapper objectMapper) throws InterruptedException {
+        int virtualUsers = env.getProperty("loadtest.virtual-users", Integer.class, 100);
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(env.getProperty("loadtest.ramp-up-seconds", Long.class, 10L));
+        long durationNanos = TimeUnit.SECONDS.toNanos(env.getProperty("loadtest.duration-seconds", Long.class, 60L));
+        long thinkTimeMs = env.getProperty("loadtest.think-time-ms", Long.class, 100L);
+        Duration requestTimeout = Duration.ofMillis(env.getProperty("loadtest.request-timeout-ms", Long.class, 10_000L));
+        long seed = env.getProperty("loadtest.seed.random-seed", Long.class, 42L);
+
+        List<Role> roles = roleMix(env, virtualUsers);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+
+        long start = System.nanoTime();
+        long deadline = start + rampUpNanos + durationNanos;
+        List<VirtualUser> users = new ArrayList<>(virtualUsers);
+        for (int i = 0; i < virtualUsers; i++) {
+            Role role = roles.get(i);
+            List<SeededDataset.Account> accounts = switch (role) {
+                case DOCTOR -> dataset.doctors();
+                case RH -> dataset.rh();
+                default -> dataset.collaborators();
+            };
+            // Users start evenly over the ramp-up; the whole window (ramp-up included) is measured
+            users.add(new VirtualUser(role, accounts.get(i % accounts.size()), dataset, httpClient, objectMapper,
+                    baseUrl, requestTimeout, start + rampUpNanos * i / virtualUsers, deadline, thinkTimeMs, seed + i));
+        }
+
+        log.info("Starting {} virtual users against {} ({} s ramp-up, {} s steady)", virtualUsers, baseUrl,
+                TimeUnit.NANOSECONDS.toSeconds(rampUpNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers);
+        users.forEach(executor::submit);
+        executor.shutdown();
+        if (!executor.awaitTermination(durationNanos + rampUpNanos + requestTimeout.toNanos() * 2, TimeUnit.NANOSECONDS)) {
+            executor.shutdownNow();
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return LoadTestReport.of(users.stream().map(VirtualUser::recorder).toList(), virtualUsers, elapsedSeconds);
+    }
+
+    /**
+     * Interleaved roles following the configured shares (rh / doctor / collaborator)
+     */
+    private static List<Role> roleMix(Environment env, int virtualUsers) {
+        double rh = env.getProperty("loadtest.mix.rh", Double.class, 20.0);
+        double doctor = env.getProperty("loadtest.mix.doctor", Double.class, 20.0);
+        double collaborator = env.getProperty("loadtest.mix.collaborator", Double.class, 60.0);
+        double total = rh + doctor + collaborator;
+
+        List<Role> roles = new ArrayList<>(virtualUsers);
+        double rhCredit = 0;
+        double doctorCredit = 0;
+        for (int i = 0; i < virtualUsers; i++) {
+            rhCredit += rh / total;
+            doctorCredit += doctor / total;
+            if (rhCredit >= 1) {
+                roles.add(Role.RH);
+                rhCredit -= 1;
+            } else if (doctorCredit >= 1) {
+                roles.add(Role.DOCTOR);
+                doctorCredit -= 1;
+            } else {
+                roles.add(Role.COLLABORATOR);
+            }
+        }
+        return roles;
+    }
+}
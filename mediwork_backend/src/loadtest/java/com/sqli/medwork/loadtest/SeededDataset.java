@@ -0,0 +1,12 @@
+package com.sqli.medwork.loadtest;
+
+import java.util.List;
+
+/**
+ * Accounts created by {@link SyntheticDataSeeder}, used by the virtual users to log in and build request paths
+ */
+public record SeededDataset(List<Account> doctors, List<Account> collaborators, List<Account> rh, String password) {
+
+    public record Account(long id, String email) {
+    }
+}
@@ -0,0 +1,291 @@
+package com.sqli.medwork.loadtest;
+
+import com.sqli.medwork.enums.LogActionType;
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.enums.SchedulingStatus;
+import com.sqli.medwork.enums.SlotStatus;
+import com.sqli.medwork.enums.VisitStatus;
+import com.sqli.medwork.enums.VisitType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds the load test database with a deterministic synthetic dataset (loadtest profile only).
+ *
+ * Rows are written with JDBC batches instead of repositories so that years of slots can be
+ * generated in seconds. Every account shares the same password, hashed once with the application
+ * encoder so logins do not trigger a rehash.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    static final String EMAIL_DOMAIN = "@loadtest.medwork.com";
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (first_name, last_name, email, password, matricule, role, archived, " +
+            "failed_login_attempts, date_creation) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SLOT =
+            "INSERT INTO slots (doctor_id, start_time, end_time, status, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_VISIT =
+            "INSERT INTO visits (collaborator_id, doctor_id, slot_id, visit_type, status, created_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SPONTANEOUS =
+            "INSERT INTO spontaneous_visit_details (collaborator_id, reason, additional_notes, preferred_date_time, " +
+            "scheduling_status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LOG =
+            "INSERT INTO logs (performed_by, action_type, role, description, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    private static final VisitType[] SLOT_VISIT_TYPES = {
+            VisitType.PERIODIC, VisitType.HIRING, VisitType.RETURN_TO_WORK, VisitType.PRE_RETURN, VisitType.JOB_CHANGE
+    };
+    private static final LogActionType[] LOG_ACTIONS = LogActionType.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final long randomSeed;
+    private final int doctors;
+    private final int collaborators;
+    private final int rh;
+    private final int historyYears;
+    private final int monthsAhead;
+    private final int slotsPerDay;
+    private final int slotMinutes;
+    private final double bookedRatio;
+    private final int spontaneousPerCollaborator;
+    private final int logs;
+    private final int batchSize;
+    private final String password;
+
+    private volatile SeededDataset dataset;
+
+    public SyntheticDataSeeder(JdbcTemplate jdbcTemplate,
+                               PasswordEncoder passwordEncoder,
+                               @Value("${loadtest.seed.random-seed:42}") long randomSeed,
+                               @Value("${loadtest.seed.doctors:50}") int doctors,
+                               @Value("${loadtest.seed.collaborators:5000}") int collaborators,
+                               @Value("${loadtest.seed.rh:20}") int rh,
+                               @Value("${loadtest.seed.history-years:2}") int historyYears,
+                               @Value("${loadtest.seed.months-ahead:3}") int monthsAhead,
+                               @Value("${loadtest.seed.slots-per-day:8}") int slotsPerDay,
+                               @Value("${loadtest.seed.slot-minutes:30}") int slotMinutes,
+                               @Value("${loadtest.seed.booked-ratio:0.4}") double bookedRatio,
+                               @Value("${loadtest.seed.spontaneous-per-collaborator:2}") int spontaneousPerCollaborator,
+                               @Value("${loadtest.seed.logs:200000}") int logs,
+                               @Value("${loadtest.seed.batch-size:1000}") int batchSize,
+                               @Value("${loadtest.seed.password:LoadTest#2025}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.randomSeed = randomSeed;
+        this.doctors = doctors;
+        this.collaborators = collaborators;
+        this.rh = rh;
+        this.historyYears = historyYears;
+        this.monthsAhead = monthsAhead;
+        this.slotsPerDay = slotsPerDay;
+        this.slotMinutes = slotMinutes;
+        this.bookedRatio = bookedRatio;
+        this.spontaneousPerCollaborator = spontaneousPerCollaborator;
+        this.logs = logs;
+        this.batchSize = batchSize;
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        LocalDateTime now = LocalDateTime.now();
+
+        String hash = passwordEncoder.encode(password);
+        insertUsers(Role.DOCTOR, "doctor", doctors, hash, now);
+        insertUsers(Role.COLLABORATOR, "collab", collaborators, hash, now);
+        insertUsers(Role.RH, "rh", rh, hash, now);
+
+        Map<Role, List<SeededDataset.Account>> accounts = jdbcTemplate.query(
+                        "SELECT id, email, role FROM users WHERE email LIKE ?",
+                        (rs, i) -> Map.entry(Role.valueOf(rs.getString("role")),
+                                new SeededDataset.Account(rs.getLong("id"), rs.getString("email"))),
+                        "%" + EMAIL_DOMAIN)
+                .stream()
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        List<SeededDataset.Account> doctorAccounts = accounts.getOrDefault(Role.DOCTOR, List.of());
+        List<SeededDataset.Account> collaboratorAccounts = accounts.getOrDefault(Role.COLLABORATOR, List.of());
+        List<SeededDataset.Account> rhAccounts = accounts.getOrDefault(Role.RH, List.of());
+
+        int slots = insertSlots(doctorAccounts, random, now);
+        int visits = insertVisits(collaboratorAccounts, rhAccounts, random, now);
+        int spontaneous = insertSpontaneousRequests(collaboratorAccounts, random, now);
+        insertLogs(random, now);
+
+        dataset = new SeededDataset(doctorAccounts, collaboratorAccounts, rhAccounts, password);
+        log.info("Load test dataset seeded in {} ms: {} doctors, {} collaborators, {} RH, {} slots, {} visits, " +
+                        "{} spontaneous requests, {} logs",
+                System.currentTimeMillis() - started, doctorAccounts.size(), collaboratorAccounts.size(),
+                rhAccounts.size(), slots, visits, spontaneous, logs);
+    }
+
+    /**
+     * @return Seeded accounts, available once the application has started
+     */
+    public SeededDataset dataset() {
+        if (dataset == null) {
+            throw new IllegalStateException("Load test dataset not seeded yet");
+        }
+        return dataset;
+    }
+
+    private void insertUsers(Role role, String prefix, int count, String hash, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{
+                    "Prenom" + i, prefix.substring(0, 1).toUpperCase() + prefix.substring(1) + i,
+                    prefix + i + EMAIL_DOMAIN, hash,
+                    "LT-" + prefix.toUpperCase() + "-" + i, role.name(), false, 0, Timestamp.valueOf(now)
+            });
+        }
+        batchInsert(INSERT_USER, rows);
+    }
+
+    /**
+     * Working-day calendar per doctor; past booked slots are CONFIRMED, future ones CONFIRMED or locked
+     */
+    private int insertSlots(List<SeededDataset.Account> doctorAccounts, SplittableRandom random, LocalDateTime now) {
+        LocalDate first = now.toLocalDate().minusYears(historyYears);
+        LocalDate last = now.toLocalDate().plusMonths(monthsAhead);
+        LocalDateTime createdAt = first.atStartOfDay();
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        int total = 0;
+        for (SeededDataset.Account doctor : doctorAccounts) {
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                LocalDateTime start = day.atTime(LocalTime.of(9, 0));
+                for (int s = 0; s < slotsPerDay; s++, start = start.plusMinutes(slotMinutes)) {
+                    rows.add(new Object[]{
+                            doctor.id(), Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(slotMinutes)),
+                            slotStatus(random, start.isBefore(now)).name(), Timestamp.valueOf(createdAt)
+                    });
+                    if (rows.size() == batchSize) {
+                        total += flush(INSERT_SLOT, rows);
+                    }
+                }
+            }
+        }
+        return total + flush(INSERT_SLOT, rows);
+    }
+
+    private SlotStatus slotStatus(SplittableRandom random, boolean past) {
+        double draw = random.nextDouble();
+        if (draw < bookedRatio) {
+            return past || draw < bookedRatio * 0.8 ? SlotStatus.CONFIRMED : SlotStatus.TEMPORARILY_LOCKED;
+        }
+        return draw < bookedRatio + 0.05 ? SlotStatus.UNAVAILABLE : SlotStatus.AVAILABLE;
+    }
+
+    /**
+     * One visit per booked slot, for a random collaborator, scheduled by a random RH
+     */
+    private int insertVisits(List<SeededDataset.Account> collaboratorAccounts, List<SeededDataset.Account> rhAccounts,
+                             SplittableRandom random, LocalDateTime now) {
+        if (collaboratorAccounts.isEmpty() || rhAccounts.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        int[] total = {0};
+        jdbcTemplate.query("SELECT id, doctor_id, start_time, status FROM slots WHERE status IN (?, ?)", rs -> {
+            LocalDateTime start = rs.getTimestamp("start_time").toLocalDateTime();
+            boolean locked = SlotStatus.TEMPORARILY_LOCKED.name().equals(rs.getString("status"));
+            VisitStatus status = locked ? VisitStatus.PENDING_DOCTOR_CONFIRMATION
+                    : start.isBefore(now) ? VisitStatus.COMPLETED : VisitStatus.SCHEDULED;
+            Timestamp createdAt = Timestamp.valueOf(start.minusDays(7 + random.nextInt(30)));
+
+            rows.add(new Object[]{
+                    collaboratorAccounts.get(random.nextInt(collaboratorAccounts.size())).id(),
+                    rs.getLong("doctor_id"), rs.getLong("id"),
+                    SLOT_VISIT_TYPES[random.nextInt(SLOT_VISIT_TYPES.length)].name(), status.name(),
+                    rhAccounts.get(random.nextInt(rhAccounts.size())).id(), createdAt, createdAt
+            });
+            if (rows.size() == batchSize) {
+                total[0] += flush(INSERT_VISIT, rows);
+            }
+        }, SlotStatus.CONFIRMED.name(), SlotStatus.TEMPORARILY_LOCKED.name());
+        return total[0] + flush(INSERT_VISIT, rows);
+    }
+
+    private int insertSpontaneousRequests(List<SeededDataset.Account> collaboratorAccounts,
+                                          SplittableRandom random, LocalDateTime now) {
+        SchedulingStatus[] statuses = SchedulingStatus.values();
+        long historyDays = historyYears * 365L;
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        int total = 0;
+        for (SeededDataset.Account collaborator : collaboratorAccounts) {
+            for (int i = 0; i < spontaneousPerCollaborator; i++) {
+                LocalDateTime createdAt = now.minusDays(random.nextLong(historyDays + 1)).withNano(0);
+                rows.add(new Object[]{
+                        collaborator.id(), "Demande de visite spontanée " + i, null,
+                        Timestamp.valueOf(createdAt.plusDays(3)),
+                        statuses[random.nextInt(statuses.length)].name(), Timestamp.valueOf(createdAt)
+                });
+                if (rows.size() == batchSize) {
+                    total += flush(INSERT_SPONTANEOUS, rows);
+                }
+            }
+        }
+        return total + flush(INSERT_SPONTANEOUS, rows);
+    }
+
+    private void insertLogs(SplittableRandom random, LocalDateTime now) {
+        long historySeconds = historyYears * 365L * 24 * 3600;
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < logs; i++) {
+            LogActionType action = LOG_ACTIONS[random.nextInt(LOG_ACTIONS.length)];
+            rows.add(new Object[]{
+                    "collab" + random.nextInt(Math.max(1, collaborators)) + EMAIL_DOMAIN, action.name(),
+                    Role.COLLABORATOR.name(), "Synthetic " + action.name().toLowerCase(),
+                    Timestamp.valueOf(now.minusSeconds(random.nextLong(historySeconds + 1)))
+            });
+            if (rows.size() == batchSize) {
+                flush(INSERT_LOG, rows);
+            }
+        }
+        flush(INSERT_LOG, rows);
+    }
+
+    private int flush(String sql, List<Object[]> rows) {
+        int count = rows.size();
+        if (count > 0) {
+            batchInsert(sql, rows);
+            rows.clear();
+        }
+        return count;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+}
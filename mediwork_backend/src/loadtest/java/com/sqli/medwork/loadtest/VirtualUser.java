@@ -0,0 +1,228 @@
+package com.sqli.medwork.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqli.medwork.enums.Role;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One simulated user: logs in, then loops over a weighted mix of its role's calls until the deadline.
+ *
+ * Calls are recorded under their path template so that per-endpoint statistics aggregate across users.
+ * Rotated refresh tokens are kept, as the frontend does.
+ */
+class VirtualUser implements Runnable {
+
+    private record Action(int weight, String endpoint) {
+    }
+
+    // Weighted mix per role; endpoints are "METHOD /path/{template}"
+    private static final Map<Role, List<Action>> MIX = Map.of(
+            Role.RH, List.of(
+                    new Action(25, "GET /api/visits/available-slots/{doctorId}"),
+                    new Action(20, "GET /api/slots/available/{doctorId}"),
+                    new Action(15, "GET /api/visits/doctor/{doctorId}/date/{date}"),
+                    new Action(15, "GET /api/visits/by-status/PENDING_DOCTOR_CONFIRMATION"),
+                    new Action(10, "GET /api/visits/date-range"),
+                    new Action(10, "POST /api/visits/with-slot"),
+                    new Action(5, "POST /api/auth/refresh")),
+            Role.DOCTOR, List.of(
+                    new Action(30, "GET /api/doctor/visits/pending-confirmations"),
+                    new Action(25, "GET /api/doctor/visits/my-schedule"),
+                    new Action(20, "GET /api/slots/my-slots"),
+                    new Action(20, "GET /api/slots/doctor/{doctorId}/date-range"),
+                    new Action(5, "POST /api/auth/refresh")),
+            Role.COLLABORATOR, List.of(
+                    new Action(35, "GET /api/visits/my-visits"),
+                    new Action(25, "GET /api/visits/my-history"),
+                    new Action(20, "GET /api/spontaneous-visits/my-requests"),
+                    new Action(10, "GET /api/spontaneous-visits/my-requests/stats"),
+                    new Action(5, "POST /api/spontaneous-visits"),
+                    new Action(5, "POST /api/auth/refresh"))
+    );
+
+    private final Role role;
+    private final SeededDataset.Account account;
+    private final SeededDataset dataset;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final long startAtNanos;
+    private final long deadlineNanos;
+    private final long thinkTimeMs;
+    private final SplittableRandom random;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    private String accessToken;
+    private String refreshToken;
+
+    VirtualUser(Role role, SeededDataset.Account account, SeededDataset dataset, HttpClient httpClient,
+                ObjectMapper objectMapper, String baseUrl, Duration requestTimeout,
+                long startAtNanos, long deadlineNanos, long thinkTimeMs, long seed) {
+        this.role = role;
+        this.account = account;
+        this.dataset = dataset;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.startAtNanos = startAtNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.thinkTimeMs = thinkTimeMs;
+        this.random = new SplittableRandom(seed);
+    }
+
+    LatencyRecorder recorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        try {
+            sleepUntil(startAtNanos);
+            // A login shed by the hashing bulkhead (503) is retried like a user would
+            while (!login()) {
+                if (System.nanoTime() >= deadlineNanos) {
+                    return;
+                }
+                Thread.sleep(1000);
+            }
+            List<Action> actions = MIX.get(role);
+            int totalWeight = actions.stream().mapToInt(Action::weight).sum();
+            while (System.nanoTime() < deadlineNanos) {
+                execute(pick(actions, totalWeight).endpoint());
+                if (thinkTimeMs > 0) {
+                    // Exponential think time around the configured mean
+                    Thread.sleep((long) (-Math.log(1 - random.nextDouble()) * thinkTimeMs));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean login() throws InterruptedException {
+        String body = json(Map.of("email", account.email(), "password", dataset.password()));
+        JsonNode response = call("POST /api/auth/login", "/api/auth/login", body, false);
+        if (response == null) {
+            return false;
+        }
+        accessToken = response.path("accessToken").asText();
+        refreshToken = response.path("refreshToken").asText();
+        return true;
+    }
+
+    private void execute(String endpoint) throws InterruptedException {
+        SeededDataset.Account doctor = dataset.doctors().get(random.nextInt(dataset.doctors().size()));
+        LocalDate today = LocalDate.now();
+
+        switch (endpoint) {
+            case "GET /api/visits/available-slots/{doctorId}" ->
+                    call(endpoint, "/api/visits/available-slots/" + doctor.id(), null, true);
+            case "GET /api/slots/available/{doctorId}" ->
+                    call(endpoint, "/api/slots/available/" + doctor.id(), null, true);
+            case "GET /api/visits/doctor/{doctorId}/date/{date}" ->
+                    call(endpoint, "/api/visits/doctor/" + doctor.id() + "/date/" + today.plusDays(random.nextInt(-30, 30)), null, true);
+            case "GET /api/visits/date-range" -> {
+                LocalDateTime start = today.minusDays(random.nextInt(90)).atStartOfDay();
+                call(endpoint, "/api/visits/date-range?startDate=" + start + "&endDate=" + start.plusDays(7), null, true);
+            }
+            case "GET /api/slots/doctor/{doctorId}/date-range" -> {
+                LocalDateTime start = today.minusDays(random.nextInt(30)).atStartOfDay();
+                call(endpoint, "/api/slots/doctor/" + account.id() + "/date-range?startDate=" + start
+                        + "&endDate=" + start.plusDays(30), null, true);
+            }
+            case "POST /api/visits/with-slot" -> {
+                // Random future half hour: mostly free, sometimes in conflict like real double bookings
+                LocalDateTime start = today.plusDays(random.nextInt(1, 120)).atTime(8, 0)
+                        .plusMinutes(30L * random.nextInt(20)).truncatedTo(ChronoUnit.MINUTES);
+                SeededDataset.Account collaborator = dataset.collaborators().get(random.nextInt(dataset.collaborators().size()));
+                call(endpoint, "/api/visits/with-slot", json(Map.of(
+                        "collaboratorId", collaborator.id(), "doctorId", doctor.id(), "visitType", "PERIODIC",
+                        "startTime", start.toString(), "endTime", start.plusMinutes(30).toString())), true);
+            }
+            case "POST /api/spontaneous-visits" -> {
+                LocalDateTime preferred = today.plusDays(random.nextInt(2, 60)).atTime(10, 0);
+                call(endpoint, "/api/spontaneous-visits", json(Map.of(
+                        "reason", "Demande de charge", "preferredDateTime", preferred.toString())), true);
+            }
+            case "POST /api/auth/refresh" -> {
+                JsonNode response = call(endpoint, "/api/auth/refresh", json(Map.of("refreshToken", refreshToken)), false);
+                if (response != null) {
+                    accessToken = response.path("accessToken").asText();
+                    refreshToken = response.path("refreshToken").asText();
+                }
+            }
+            default -> call(endpoint, endpoint.substring(endpoint.indexOf(' ') + 1), null, true);
+        }
+    }
+
+    /**
+     * Send one request and record its latency under the endpoint template
+     * @return Parsed body of a 2xx JSON response when needed by the caller, otherwise null
+     */
+    private JsonNode call(String endpoint, String path, String body, boolean authenticated) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout);
+        if (authenticated) {
+            request.header("Authorization", "Bearer " + accessToken);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(endpoint, System.nanoTime() - started, response.statusCode());
+            if (!authenticated && response.statusCode() / 100 == 2) {
+                return objectMapper.readTree(response.body());
+            }
+            if (response.statusCode() == 401 && authenticated) {
+                login();
+            }
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            recorder.record(endpoint, System.nanoTime() - started, -1);
+        }
+        return null;
+    }
+
+    private Action pick(List<Action> actions, int totalWeight) {
+        int draw = random.nextInt(totalWeight);
+        for (Action action : actions) {
+            draw -= action.weight();
+            if (draw < 0) {
+                return action;
+            }
+        }
+        return actions.get(actions.size() - 1);
+    }
+
+    private String json(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        long remaining = nanos - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        }
+    }
+}
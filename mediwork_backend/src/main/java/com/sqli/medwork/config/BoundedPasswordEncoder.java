@@ -0,0 +1,129 @@
+package com.sqli.medwork.config;
+
+import com.sqli.medwork.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose hashing and verification run on a dedicated, bounded executor.
+ *
+ * Request threads only wait for the result: at most {@code threads} hashes run at once,
+ * at most {@code queueCapacity} wait, and anything beyond is rejected immediately with 503
+ * so a login burst cannot starve the other endpoints.
+ * upgradeEncoding reports hashes whose cost differs from the configured strength, which
+ * DaoAuthenticationProvider uses to rehash transparently on the next successful login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMs, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+        this.hashTimer = meterRegistry.timer("auth.password.hashing", "operation", "encode");
+        this.verifyTimer = meterRegistry.timer("auth.password.hashing", "operation", "matches");
+        this.rejected = meterRegistry.counter("auth.password.hashing.rejected");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> hashTimer.record(() -> delegate.encode(rawPassword))));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = await(submit(() -> verifyTimer.record(() -> delegate.matches(rawPassword, encodedPassword))));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    /**
+     * Start hashing without waiting, for bulk callers that hash many passwords in parallel
+     * @param rawPassword Password to hash
+     * @return Future of the encoded password
+     * @throws PasswordHashingBusyException if the queue is full
+     */
+    public Future<String> encodeAsync(CharSequence rawPassword) {
+        return submit(() -> hashTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    /**
+     * @return true when the stored hash was produced with a different cost factor than the configured one
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue full ({} queued), rejecting request", executor.getQueue().size());
+            throw new PasswordHashingBusyException("Service momentanément surchargé, réessayez dans quelques instants");
+        }
+    }
+
+    /**
+     * Wait for a hashing task, bounded by the configured timeout
+     * @param future Submitted task
+     * @return Task result
+     */
+    public <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Service momentanément surchargé, réessayez dans quelques instants");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Password hashing interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sqli.medwork.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.TypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON converter that keeps one pre-built ObjectWriter per response type.
+ *
+ * The default converter creates a writer per response and, for List / generic return types such as
+ * List&lt;VisitResponse&gt;, resolves the root serializer again each time. Here the writer (with its
+ * prefetched root serializer) is built once per declared type. Responses using JSON views or filters
+ * (MappingJacksonValue) or a non-JSON media type keep the default path.
+ */
+public class CachedWriterJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    // Keys are controller return types and DTO classes: a small, fixed set
+    private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CachedWriterJsonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (object instanceof MappingJacksonValue
+                || (contentType != null && !MediaType.APPLICATION_JSON.isCompatibleWith(contentType))) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ObjectWriter writer = writers.computeIfAbsent(rootType(object, type), getObjectMapper()::writerFor);
+        try (JsonGenerator generator = writer.createGenerator(
+                StreamUtils.nonClosing(outputMessage.getBody()), getJsonEncoding(contentType))) {
+            writer.writeValue(generator, object);
+            generator.flush();
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    /**
+     * Same root type as the default converter: the declared type for collections and generics, else the runtime class
+     */
+    private JavaType rootType(Object object, @Nullable Type type) {
+        if (type != null && TypeUtils.isAssignable(type, object.getClass())) {
+            JavaType declared = getJavaType(type, null);
+            if (declared.isContainerType() || declared.hasGenericTypes()) {
+                return declared;
+            }
+        }
+        return getObjectMapper().constructType(object.getClass());
+    }
+}
@@ -0,0 +1,68 @@
+package com.sqli.medwork.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split: read-only transactions use the replica pool, everything else the primary.
+ *
+ * Only active with datasource.replica.enabled=true; otherwise Spring Boot's single auto-configured pool is used.
+ * Both pools are Hikari, so Boot publishes hikaricp.* metrics tagged pool=primary / pool=replica.
+ * Note that Spring Data's inherited read methods (findById, findAll...) are read-only transactions too:
+ * outside a read-write transaction they may return data up to max-lag-seconds old.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(HikariDataSource replicaDataSource, MeterRegistry meterRegistry,
+                                                     @Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                                     @Value("${datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+                                                     @Value("${datasource.replica.check-timeout-seconds:2}") int timeoutSeconds) {
+        return new ReplicaHealthMonitor(replicaDataSource, lagQuery, maxLagSeconds, timeoutSeconds, meterRegistry);
+    }
+
+    /**
+     * The data source used by JPA, JdbcTemplate and the transaction manager.
+     * The lazy proxy defers the routing decision until the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaHealthMonitor, meterRegistry));
+    }
+}
@@ -2,11 +2,10 @@ package com.sqli.medwork.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;  // ✅ ADDED
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;  // ✅ ADDED
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -58,18 +57,27 @@ public class DateTimeConfig {
         javaTimeModule.addDeserializer(LocalDateTime.class,
                 new LocalDateTimeDeserializer(FLEXIBLE_FORMATTER));
 
-        // Standard serializer
-        javaTimeModule.addSerializer(LocalDateTime.class,
-                new LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        // ✅ ADDED: ISO_LOCAL_DATE_TIME output written without the formatter (same text)
+        javaTimeModule.addSerializer(LocalDateTime.class, new IsoTimeSerializers.IsoLocalDateTimeSerializer());
 
         // ✅ ADDED: LocalTime serialization/deserialization to fix comma issue
-        javaTimeModule.addSerializer(LocalTime.class,
-                new LocalTimeSerializer(DateTimeFormatter.ofPattern("HH:mm")));
+        javaTimeModule.addSerializer(LocalTime.class, new IsoTimeSerializers.HourMinuteLocalTimeSerializer());
         javaTimeModule.addDeserializer(LocalTime.class,
                 new LocalTimeDeserializer(DateTimeFormatter.ofPattern("HH:mm")));
 
         mapper.registerModule(javaTimeModule);
 
+        // ✅ ADDED: Generated accessors instead of reflection for DTO getters/setters/constructors
+        mapper.registerModule(new BlackbirdModule());
+
         return mapper;
     }
+
+    /**
+     * Replaces Spring Boot's JSON converter: same mapper, writers cached per response type
+     */
+    @Bean
+    public CachedWriterJsonConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachedWriterJsonConverter(objectMapper);
+    }
 }
\ No newline at end of file
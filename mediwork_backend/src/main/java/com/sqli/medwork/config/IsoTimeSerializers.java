@@ -0,0 +1,137 @@
+package com.sqli.medwork.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * LocalDateTime / LocalTime serializers writing their digits straight into a per-thread char buffer.
+ *
+ * Output is identical to DateTimeFormatter.ISO_LOCAL_DATE_TIME and to the "HH:mm" pattern, without the
+ * formatter's per-value parsing context, StringBuilder and String allocations. Years outside 0000-9999
+ * (signed ISO years) and properties carrying their own @JsonFormat go through the standard serializers.
+ */
+public final class IsoTimeSerializers {
+
+    private static final JsonFormat.Value NO_FORMAT = JsonFormat.Value.empty();
+
+    // "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn" is at most 29 chars
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    private IsoTimeSerializers() {
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm:ss[.fraction], fraction without trailing zeros, as ISO_LOCAL_DATE_TIME
+     */
+    public static final class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> implements ContextualSerializer {
+
+        private final JsonSerializer<LocalDateTime> standard =
+                new com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+
+        public IsoLocalDateTimeSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int year = value.getYear();
+            if (year < 0 || year > 9999) {
+                standard.serialize(value, gen, provider);
+                return;
+            }
+            char[] buf = BUFFER.get();
+            digits4(buf, 0, year);
+            buf[4] = '-';
+            digits2(buf, 5, value.getMonthValue());
+            buf[7] = '-';
+            digits2(buf, 8, value.getDayOfMonth());
+            buf[10] = 'T';
+            digits2(buf, 11, value.getHour());
+            buf[13] = ':';
+            digits2(buf, 14, value.getMinute());
+            buf[16] = ':';
+            digits2(buf, 17, value.getSecond());
+            int length = fraction(buf, 19, value.getNano());
+            gen.writeString(buf, 0, length);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            return hasOverrides(findFormatOverrides(provider, property, handledType()))
+                    ? ((ContextualSerializer) standard).createContextual(provider, property) : this;
+        }
+    }
+
+    /**
+     * HH:mm, the wire format of slot and recurring slot times
+     */
+    public static final class HourMinuteLocalTimeSerializer extends StdSerializer<LocalTime> implements ContextualSerializer {
+
+        private final JsonSerializer<LocalTime> standard =
+                new com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer(DateTimeFormatter.ofPattern("HH:mm"));
+
+        public HourMinuteLocalTimeSerializer() {
+            super(LocalTime.class);
+        }
+
+        @Override
+        public void serialize(LocalTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buf = BUFFER.get();
+            digits2(buf, 0, value.getHour());
+            buf[2] = ':';
+            digits2(buf, 3, value.getMinute());
+            gen.writeString(buf, 0, 5);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            return hasOverrides(findFormatOverrides(provider, property, handledType()))
+                    ? ((ContextualSerializer) standard).createContextual(provider, property) : this;
+        }
+    }
+
+    private static boolean hasOverrides(JsonFormat.Value format) {
+        return format != null && !format.equals(NO_FORMAT);
+    }
+
+    private static void digits4(char[] buf, int offset, int value) {
+        digits2(buf, offset, value / 100);
+        digits2(buf, offset + 2, value % 100);
+    }
+
+    private static void digits2(char[] buf, int offset, int value) {
+        buf[offset] = (char) ('0' + value / 10);
+        buf[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Nanoseconds as ISO does: nothing when zero, otherwise '.' and up to 9 digits without trailing zeros
+     * @return Length of the text written so far
+     */
+    private static int fraction(char[] buf, int offset, int nanos) {
+        if (nanos == 0) {
+            return offset;
+        }
+        buf[offset] = '.';
+        int end = offset + 9;
+        for (int i = end; i > offset; i--) {
+            buf[i] = (char) ('0' + nanos % 10);
+            nanos /= 10;
+        }
+        while (buf[end] == '0') {
+            end--;
+        }
+        return end + 1;
+    }
+}
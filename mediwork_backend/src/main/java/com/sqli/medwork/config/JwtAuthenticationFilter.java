@@ -1,7 +1,8 @@
 package com.sqli.medwork.config;
 
-import com.sqli.medwork.service.auth.CustomUserDetailsService;
+import com.sqli.medwork.service.auth.JwtPrincipalResolver;
 import com.sqli.medwork.service.auth.JwtService;
+import com.sqli.medwork.service.auth.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,7 +22,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final JwtPrincipalResolver jwtPrincipalResolver;
+    private final MetricsScrapeRequestMatcher metricsScrapeRequestMatcher;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -29,14 +32,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
 
         // Laisser passer les routes publiques sans vérifier le JWT
-        if (path.startsWith("/api/auth/")) {
+        // Probes, and the Prometheus scrape on the management port, without a token (permitted in SecurityConfig)
+        // WebSocket handshake: the STOMP CONNECT frame carries the JWT (StompAuthChannelInterceptor)
+        if (path.startsWith("/api/auth/") || path.equals("/actuator/health") || path.equals("/ws")
+                || metricsScrapeRequestMatcher.matches(request)) {
             filterChain.doFilter(request, response);
             return;
         }
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // ✅ CRITICAL FIX: Proper authentication check - don't allow unauthenticated requests
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -47,12 +52,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             jwt = authHeader.substring(7);
-            userEmail = jwtService.extractEmail(jwt);
+            // Single parse: signature and expiry are checked here, expired tokens throw
+            VerifiedToken token = jwtService.verify(jwt);
+            String userEmail = token.subject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = jwtPrincipalResolver.resolve(token);
 
-                if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -73,4 +80,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
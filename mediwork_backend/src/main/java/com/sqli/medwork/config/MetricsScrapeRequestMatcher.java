@@ -0,0 +1,33 @@
+package com.sqli.medwork.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matches the Prometheus scrape when it arrives on the management port.
+ *
+ * Only that request is let through without a JWT (JwtAuthenticationFilter, SecurityConfig):
+ * the management server listens on an internal address, so the public port never serves
+ * metrics anonymously. Without a distinct management.server.port nothing matches and the
+ * scrape needs a token like any other endpoint.
+ */
+@Component
+public class MetricsScrapeRequestMatcher implements RequestMatcher {
+
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+
+    private final int managementPort;
+
+    public MetricsScrapeRequestMatcher(@Value("${management.server.port:-1}") int managementPort) {
+        this.managementPort = managementPort;
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return managementPort > 0
+                && request.getLocalPort() == managementPort
+                && PROMETHEUS_PATH.equals(request.getRequestURI());
+    }
+}
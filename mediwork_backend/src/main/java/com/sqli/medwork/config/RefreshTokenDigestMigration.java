@@ -0,0 +1,71 @@
+package com.sqli.medwork.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * One-time upgrade of refresh_tokens from the raw token column to token_hash (MySQL only).
+ *
+ * ddl-auto=update adds token_hash but never drops the old token column, which is NOT NULL and unique,
+ * so every insert would fail on a database created before the switch. This runs before the
+ * EntityManagerFactory: outstanding tokens are digested in place (SHA2 of the ASCII token is what
+ * RefreshTokenHasher computes, so nobody is logged out), then the token column and its indexes are dropped.
+ * Does nothing once the column is gone.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class RefreshTokenDigestMigration {
+
+    private static final String COUNT_COLUMN =
+            "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'refresh_tokens' AND COLUMN_NAME = ?";
+
+    private final DataSource dataSource;
+
+    public RefreshTokenDigestMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Hibernate validates and updates the schema when the EntityManagerFactory starts, so the table must be migrated first
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor refreshTokenDigestMigrationFirst() {
+        return new EntityManagerFactoryDependsOnPostProcessor(RefreshTokenDigestMigration.class);
+    }
+
+    @PostConstruct
+    public void migrate() throws Exception {
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"MySQL".equals(database)) {
+            return;
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (!columnExists(jdbcTemplate, "token")) {
+            return;
+        }
+
+        log.warn("Migrating refresh_tokens: raw tokens replaced by SHA-256 digests (token_hash)");
+        if (!columnExists(jdbcTemplate, "token_hash")) {
+            jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD COLUMN token_hash BINARY(32) NULL");
+        }
+        int digested = jdbcTemplate.update("UPDATE refresh_tokens SET token_hash = UNHEX(SHA2(token, 256))");
+        // Unique index on token_hash is (re)created by Hibernate once the digests are distinct
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP COLUMN token, MODIFY token_hash BINARY(32) NOT NULL");
+        log.info("refresh_tokens migrated: {} tokens digested, column token dropped", digested);
+    }
+
+    private boolean columnExists(JdbcTemplate jdbcTemplate, String column) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_COLUMN, Integer.class, column);
+        return count != null && count > 0;
+    }
+}
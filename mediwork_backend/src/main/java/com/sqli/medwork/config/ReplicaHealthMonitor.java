@@ -0,0 +1,115 @@
+package com.sqli.medwork.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Decides whether the read replica may serve read-only transactions.
+ *
+ * The replica is checked periodically: it is usable when a connection can be obtained and the lag query
+ * reports at most max-lag-seconds. The lag query result is read from the Seconds_Behind_Source /
+ * Seconds_Behind_Master column when present (MySQL SHOW REPLICA STATUS), otherwise from the first column;
+ * a NULL lag (replication stopped) or an empty result counts as unusable. An empty lag query only checks
+ * that the replica answers. A failed connection between two checks marks it unusable immediately.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final int queryTimeoutSeconds;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaHealthMonitor(DataSource replica, String lagQuery, double maxLagSeconds,
+                                int queryTimeoutSeconds, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+
+        meterRegistry.gauge("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0);
+        meterRegistry.gauge("datasource.replica.lag.seconds", this, monitor -> monitor.lagSeconds);
+        check();
+    }
+
+    /**
+     * @return true when read-only transactions may be routed to the replica
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Measure the replica lag and update the routing decision
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval-ms:5000}")
+    public void check() {
+        Double lag;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            lag = lagQuery == null || lagQuery.isBlank() ? Double.valueOf(0) : readLag(statement);
+        } catch (SQLException e) {
+            update(false, Double.NaN, "check failed: " + e.getMessage());
+            return;
+        }
+
+        if (lag == null) {
+            update(false, Double.NaN, "replication is not running");
+        } else {
+            update(lag <= maxLagSeconds, lag, "lag " + lag + " s (max " + maxLagSeconds + " s)");
+        }
+    }
+
+    /**
+     * Stop using the replica until the next successful check
+     * @param cause Connection failure seen by the routing data source
+     */
+    public void markUnavailable(SQLException cause) {
+        update(false, lagSeconds, "connection failed: " + cause.getMessage());
+    }
+
+    private Double readLag(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return null;
+            }
+            int column = lagColumn(rs.getMetaData());
+            Object value = rs.getObject(column);
+            return value == null ? null : Double.valueOf(value.toString());
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String label = metaData.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    private synchronized void update(boolean nowUsable, double lag, String reason) {
+        lagSeconds = lag;
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Read replica in rotation ({})", reason);
+            } else {
+                log.warn("Read replica taken out of rotation, reads go to the primary ({})", reason);
+            }
+        }
+        usable = nowUsable;
+    }
+}
@@ -0,0 +1,73 @@
+package com.sqli.medwork.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager opens its connection before
+ * the read-only flag is bound to the thread, the proxy defers the real lookup to the first statement.
+ * Reads fall back to the primary while {@link ReplicaHealthMonitor} reports the replica as lagging or down.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealthMonitor monitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor monitor,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.primaryConnections = meterRegistry.counter("datasource.routing.connections", "target", "primary");
+        this.replicaConnections = meterRegistry.counter("datasource.routing.connections", "target", "replica");
+        this.fallbackConnections = meterRegistry.counter("datasource.routing.connections", "target", "primary_fallback");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && monitor.isReplicaUsable()
+                ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Target.PRIMARY) {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                fallbackConnections.increment();
+            } else {
+                primaryConnections.increment();
+            }
+            return primary.getConnection();
+        }
+
+        try {
+            Connection connection = replica.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            // Replica went away between two health checks: serve this read from the primary
+            monitor.markUnavailable(e);
+            fallbackConnections.increment();
+            return primary.getConnection();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.sqli.medwork.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the scheduling and authentication services.
+ *
+ * Metric medwork.service (timer, so it also counts calls) tagged with
+ * class, method, outcome (success | error) and exception (simple class name, "none" on success).
+ * Only calls through the Spring proxy are measured, not calls a service makes on itself.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "medwork.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * *(..)) && ("
+            + "within(com.sqli.medwork.service.visit.VisitService) || "
+            + "within(com.sqli.medwork.service.visit.SpontaneousVisitService) || "
+            + "within(com.sqli.medwork.service.slot.SlotService) || "
+            + "within(com.sqli.medwork.service.slot.RecurringSlotService) || "
+            + "within(com.sqli.medwork.service.auth.AuthenticationService) || "
+            + "within(com.sqli.medwork.service.auth.RefreshTokenService))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.sqli.medwork.config;
+
+import com.sqli.medwork.service.auth.JwtPrincipalResolver;
+import com.sqli.medwork.service.auth.JwtService;
+import com.sqli.medwork.service.auth.VerifiedToken;
+import com.sqli.medwork.service.notification.ChangeNotifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authenticates STOMP sessions with the same access token as the REST API.
+ *
+ * CONNECT must carry "Authorization: Bearer &lt;jwt&gt;" as a native header; the session principal is named
+ * after the user ID so that per-user queues match {@link ChangeNotifier}. Subscriptions are limited to the
+ * user's own queue and the topic of their role, and clients cannot SEND: the channel is server push only.
+ *
+ * The token stays attached to the session: SUBSCRIBE and every delivery ({@link #deliveryCheck()}, on the
+ * outbound channel) re-check its expiry and security version, and the session is closed with an ERROR frame
+ * once the token has expired or the user's authorities changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final JwtPrincipalResolver jwtPrincipalResolver;
+
+    // Token presented on CONNECT, per STOMP session ID; removed on DISCONNECT (also sent when the socket closes)
+    private final Map<String, VerifiedToken> sessionTokens = new ConcurrentHashMap<>();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor.getSessionId(), accessor.getFirstNativeHeader("Authorization")));
+            case SUBSCRIBE -> {
+                if (!isSessionValid(accessor.getSessionId())) {
+                    throw new MessageDeliveryException("Session expirée");
+                }
+                checkSubscription(accessor.getUser(), accessor.getDestination());
+            }
+            case SEND -> throw new MessageDeliveryException("Envoi non autorisé sur ce canal");
+            case DISCONNECT -> {
+                if (accessor.getSessionId() != null) {
+                    sessionTokens.remove(accessor.getSessionId());
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Interceptor for the client outbound channel: broker deliveries to a session whose token has expired
+     * or is stale are replaced by an ERROR frame, which makes the STOMP handler close the WebSocket
+     */
+    public ChannelInterceptor deliveryCheck() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                return checkDelivery(message);
+            }
+        };
+    }
+
+    private Message<?> checkDelivery(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        if (!sessionTokens.containsKey(sessionId)) {
+            // Session already closed or never authenticated
+            return null;
+        }
+        if (isSessionValid(sessionId)) {
+            return message;
+        }
+        sessionTokens.remove(sessionId);
+        StompHeaderAccessor error = StompHeaderAccessor.create(StompCommand.ERROR);
+        error.setMessage("Session expirée");
+        error.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], error.getMessageHeaders());
+    }
+
+    private boolean isSessionValid(String sessionId) {
+        VerifiedToken token = sessionId != null ? sessionTokens.get(sessionId) : null;
+        if (token == null) {
+            return false;
+        }
+        if (token.expiresAt() != null && !Instant.now().isBefore(token.expiresAt())) {
+            return false;
+        }
+        try {
+            return jwtPrincipalResolver.resolve(token) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Authentication authenticate(String sessionId, String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Missing or invalid Authorization header");
+        }
+        VerifiedToken token;
+        UserDetails principal;
+        try {
+            token = jwtService.verify(authHeader.substring(7));
+            principal = jwtPrincipalResolver.resolve(token);
+        } catch (Exception e) {
+            throw new MessageDeliveryException("Token processing error: " + e.getMessage());
+        }
+        if (principal == null) {
+            throw new MessageDeliveryException("Invalid or expired token");
+        }
+        if (sessionId != null) {
+            sessionTokens.put(sessionId, token);
+        }
+        return new UsernamePasswordAuthenticationToken(
+                JwtPrincipalResolver.userId(principal).toString(), null, principal.getAuthorities());
+    }
+
+    private void checkSubscription(Principal user, String destination) {
+        if (!(user instanceof Authentication authentication) || destination == null) {
+            throw new MessageDeliveryException("Session non authentifiée");
+        }
+        if (destination.equals("/user" + ChangeNotifier.USER_QUEUE)) {
+            return;
+        }
+        if (destination.startsWith(ChangeNotifier.ROLE_TOPIC_PREFIX)) {
+            String authority = "ROLE_" + destination.substring(ChangeNotifier.ROLE_TOPIC_PREFIX.length());
+            if (authentication.getAuthorities().stream().anyMatch(granted -> granted.getAuthority().equals(authority))) {
+                return;
+            }
+        }
+        throw new MessageDeliveryException("Abonnement non autorisé: " + destination);
+    }
+}
@@ -3,21 +3,28 @@ package com.sqli.medwork.controller.admin;
 import com.sqli.medwork.dto.request.AdminUserCreationRequest;
 import com.sqli.medwork.dto.request.AdminUpdateUserRequest;
 import com.sqli.medwork.dto.response.AdminReadUserResponse;
+import com.sqli.medwork.dto.response.PageResponse;
+import com.sqli.medwork.dto.response.RefreshTokenPurgeResponse;
 import com.sqli.medwork.dto.response.RoleCount;
+import com.sqli.medwork.dto.response.UserImportReport;
+import com.sqli.medwork.dto.response.UserSummaryResponse;
 import com.sqli.medwork.entity.User;
 import com.sqli.medwork.enums.Role;
-import com.sqli.medwork.enums.LogActionType;
-import com.sqli.medwork.repository.UserRepository;
-import com.sqli.medwork.service.common.LogService;
+import com.sqli.medwork.service.auth.RefreshTokenService;
+import com.sqli.medwork.service.user.UserImportService;
 import com.sqli.medwork.service.user.UserService;
-import com.sqli.medwork.exception.UserNotFoundException;
 import com.sqli.medwork.exception.InvalidRoleException;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 import java.util.List;
 
@@ -26,14 +33,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AdminController {
 
-    private final UserRepository userRepository;
     private final UserService userService;
-    private final LogService logService;
+    private final UserImportService userImportService;
+    private final RefreshTokenService refreshTokenService;
 
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userRepository.findAll());
+    public ResponseEntity<PageResponse<UserSummaryResponse>> getAllUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUserSummaries(null, page, size));
     }
 
     @PutMapping("/users/{id}/role")
@@ -42,56 +51,34 @@ public class AdminController {
             @PathVariable Long id,
             @RequestBody String roleName) {
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
-
+        Role newRole;
         try {
             // ✅ FIXED: Remove quotes and handle role parsing properly
             String cleanRoleName = roleName.replace("\"", "").trim();
-            Role newRole = Role.valueOf(cleanRoleName.toUpperCase());
-
-            // ✅ ADDED: Validate that we're not assigning PENDING role
-            if (newRole == Role.PENDING) {
-                throw new InvalidRoleException("Cannot assign PENDING role - user must have a valid role");
-            }
-
-            Role oldRole = user.getRole();
-            user.setRole(newRole);
-            userRepository.save(user);
-
-            logService.log(LogActionType.UPDATE_USER,
-                    "Changement de rôle utilisateur " + user.getEmail() + " de " + oldRole + " à " + newRole);
-
-            return ResponseEntity.ok("Rôle mis à jour avec succès pour l'utilisateur " + user.getEmail());
+            newRole = Role.valueOf(cleanRoleName.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new InvalidRoleException("Nom de rôle invalide : " + roleName + ". Rôles valides : " +
                     String.join(", ", List.of("RH", "DOCTOR", "COLLABORATOR")));
         }
+
+        // Delegate to the service so the principal cache is invalidated with the change
+        userService.assignRole(id, newRole);
+        User user = userService.getUserById(id);
+
+        return ResponseEntity.ok("Rôle mis à jour avec succès pour l'utilisateur " + user.getEmail());
     }
 
     @PutMapping("/users/{id}/archive")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> archiveUser(@PathVariable Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
-
-        user.setArchived(true);
-        userRepository.save(user);
-        logService.log(LogActionType.ARCHIVE_USER, "Utilisateur archivé : " + user.getEmail());
-
+        userService.archiveUser(id);
         return ResponseEntity.ok("Utilisateur archivé avec succès");
     }
 
     @PutMapping("/users/{id}/restore")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> restoreUser(@PathVariable Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
-
-        user.setArchived(false);
-        userRepository.save(user);
-        logService.log(LogActionType.RESTORE_USER, "Utilisateur restauré : " + user.getEmail());
-
+        userService.restoreUser(id);
         return ResponseEntity.ok("Utilisateur restauré avec succès");
     }
 
@@ -102,6 +89,20 @@ public class AdminController {
         return ResponseEntity.ok("Utilisateur créé avec succès");
     }
 
+    /**
+     * Bulk-create users from a CSV or NDJSON file (Admin use)
+     *
+     * @param file CSV with a header line, or one JSON user per line
+     * @return Imported count and the rejected rows with their reason
+     */
+    @PostMapping(value = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportReport> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.ok(userImportService.importUsers(content, file.getOriginalFilename(), file.getContentType()));
+        }
+    }
+
     @PutMapping("/users/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> updateUserByAdmin(@PathVariable Long id, @Valid @RequestBody AdminUpdateUserRequest request) {
@@ -109,6 +110,27 @@ public class AdminController {
         return ResponseEntity.ok("Utilisateur mis à jour avec succès");
     }
 
+    /**
+     * Search users by prefix of email, matricule or name, with optional role/archived filters
+     *
+     * @param q Search term (prefix)
+     * @param role Role filter
+     * @param archived Archived filter
+     * @param page Zero-based page number
+     * @param size Page size (max 100)
+     * @return Page of users ordered by name
+     */
+    @GetMapping("/users/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponse<AdminReadUserResponse>> searchUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean archived,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.searchUsers(q, role, archived, page, size));
+    }
+
     @GetMapping("/users/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<AdminReadUserResponse> getUserDetails(@PathVariable Long id) {
@@ -118,20 +140,43 @@ public class AdminController {
 
     @GetMapping("/users/rh")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getRHUsers() {
-        return ResponseEntity.ok(userRepository.findByRole(Role.RH));
+    public ResponseEntity<PageResponse<UserSummaryResponse>> getRHUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUserSummaries(Role.RH, page, size));
     }
 
     @GetMapping("/users/medecin")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getMedecinUsers() {
-        return ResponseEntity.ok(userRepository.findByRole(Role.DOCTOR));
+    public ResponseEntity<PageResponse<UserSummaryResponse>> getMedecinUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUserSummaries(Role.DOCTOR, page, size));
     }
 
     @GetMapping("/users/collaborateur")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getCollaborateurUsers() {
-        return ResponseEntity.ok(userRepository.findByRole(Role.COLLABORATOR));
+    public ResponseEntity<PageResponse<UserSummaryResponse>> getCollaborateurUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUserSummaries(Role.COLLABORATOR, page, size));
+    }
+
+    /**
+     * Purge expired refresh tokens and revoked ones past the grace period (Admin use)
+     *
+     * @return Rows removed and duration
+     */
+    @PostMapping("/refresh-tokens/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RefreshTokenPurgeResponse> purgeRefreshTokens() {
+        return ResponseEntity.ok(refreshTokenService.cleanupExpiredTokens());
+    }
+
+    @GetMapping("/users/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserService.UserStatistics> getUserStatistics() {
+        return ResponseEntity.ok(userService.getUserStatistics());
     }
 
     @GetMapping("/users/count-by-role")
@@ -0,0 +1,52 @@
+package com.sqli.medwork.controller.admin;
+
+import com.sqli.medwork.dto.response.LogResponse;
+import com.sqli.medwork.enums.LogActionType;
+import com.sqli.medwork.service.common.LogService;
+import com.sqli.medwork.service.common.journal.AuditJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/logs/journal")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "audit.sink", havingValue = "journal")
+public class AuditJournalController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditJournal auditJournal;
+    private final LogService logService;
+
+    /**
+     * Read recent audit entries straight from the journal (not yet loaded into the database)
+     *
+     * @param from Inclusive lower bound (ISO date-time)
+     * @param to Exclusive upper bound (ISO date-time)
+     * @param actionType Action type filter
+     * @param performedBy User email filter
+     * @param limit Maximum number of entries (max 1000)
+     * @return Entries, newest first
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<LogResponse>> readJournal(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) LogActionType actionType,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(defaultValue = "100") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<LogResponse> entries = auditJournal.query(from, to, actionType, performedBy, boundedLimit).stream()
+                .map(logService::toResponse)
+                .toList();
+        return ResponseEntity.ok(entries);
+    }
+}
@@ -0,0 +1,49 @@
+package com.sqli.medwork.controller.admin;
+
+import com.sqli.medwork.dto.response.CursorPageResponse;
+import com.sqli.medwork.dto.response.LogResponse;
+import com.sqli.medwork.enums.LogActionType;
+import com.sqli.medwork.service.common.LogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/logs")
+@RequiredArgsConstructor
+public class AuditLogController {
+
+    private final LogService logService;
+
+    /**
+     * Browse audit entries, newest first
+     *
+     * All filters are optional and combinable. Pass the returned nextCursor as cursor
+     * to get the next page.
+     *
+     * @param actionType Action type filter
+     * @param performedBy User email filter
+     * @param role Role filter
+     * @param from Inclusive lower bound (ISO date-time)
+     * @param to Exclusive upper bound (ISO date-time)
+     * @param cursor Cursor of the next page
+     * @param size Page size (max 200)
+     * @return Page of audit entries
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponse<LogResponse>> searchLogs(
+            @RequestParam(required = false) LogActionType actionType,
+            @RequestParam(required = false) String performedBy,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(logService.searchLogs(actionType, performedBy, role, from, to, cursor, size));
+    }
+}
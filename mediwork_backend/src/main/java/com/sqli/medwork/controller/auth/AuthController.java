@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -39,9 +40,9 @@ public class AuthController {
      * @return LoginResponse with access token and user information
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login request received for email: {}", request.getEmail());
-        LoginResponse response = authService.login(request);
+        LoginResponse response = authService.login(request, httpRequest.getRemoteAddr());
         log.info("User logged in successfully: {}", request.getEmail());
         return ResponseEntity.ok(response);
     }
@@ -1,8 +1,10 @@
 package com.sqli.medwork.controller.user;
 
 import com.sqli.medwork.dto.response.DoctorInfoResponse;
-import com.sqli.medwork.entity.User;
+import com.sqli.medwork.dto.response.PageResponse;
+import com.sqli.medwork.dto.response.UserSummaryResponse;
 import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.service.auth.JwtPrincipal;
 import com.sqli.medwork.service.user.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +26,8 @@ public class UserController {
 
     @GetMapping("/me")
     public UserDetails getMe(@AuthenticationPrincipal UserDetails userDetails) {
-        return userDetails;
+        // Claims-based principals carry no profile: answer with the user record, as before
+        return userDetails instanceof JwtPrincipal ? userService.getUserByEmail(userDetails.getUsername()) : userDetails;
     }
 
     /**
@@ -71,8 +74,10 @@ public class UserController {
 
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getPendingUsers() {
-        return ResponseEntity.ok(userService.getPendingUsers());
+    public ResponseEntity<PageResponse<UserSummaryResponse>> getPendingUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUserSummaries(Role.PENDING, page, size));
     }
 
     @PutMapping("/{id}/assign-role")
@@ -4,25 +4,31 @@ import com.sqli.medwork.enums.Role;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Data
 public class AdminUserCreationRequest {
 
     @NotBlank(message = "First name is required")
+    @Size(max = 255, message = "First name must be at most 255 characters")
     private String firstName;
 
     @NotBlank(message = "Last name is required")
+    @Size(max = 255, message = "Last name must be at most 255 characters")
     private String lastName;
 
     @Email(message = "Invalid email format")
     @NotBlank(message = "Email is required")
+    @Size(max = 255, message = "Email must be at most 255 characters")
     private String email;
 
     @NotBlank(message = "Password is required")
+    @Size(max = 255, message = "Password must be at most 255 characters")
     private String password;
 
     @NotBlank(message = "Matricule is required")
+    @Size(max = 100, message = "Matricule must be at most 100 characters")
     private String matricule;
 
     @NotNull(message = "Role is required")
@@ -0,0 +1,22 @@
+package com.sqli.medwork.dto.response;
+
+import com.sqli.medwork.enums.LogActionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogResponse {
+    private Long id;
+    private String performedBy;
+    private LogActionType actionType;
+    private String role;
+    private String description;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,16 @@
+package com.sqli.medwork.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenPurgeResponse {
+    private int expiredRemoved;
+    private int revokedRemoved;
+    private long durationMs;
+}
@@ -0,0 +1,33 @@
+package com.sqli.medwork.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import: counts plus one entry per rejected row
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReport {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private long durationMs;
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;     // 1-based line number in the file
+        private String email; // null if the row could not be parsed
+        private String message;
+    }
+}
@@ -0,0 +1,29 @@
+package com.sqli.medwork.dto.response;
+
+import com.sqli.medwork.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slim user row for admin listings, selected column by column (no password, no UserDetails properties).
+ * Field order is the constructor order used by the JPQL projection in UserRepository.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String matricule;
+    private Role role;
+    private boolean archived;
+    private LocalDateTime dateCreation;
+    private LocalDateTime lastLogin;
+}
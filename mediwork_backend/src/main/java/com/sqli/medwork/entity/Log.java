@@ -6,7 +6,15 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "logs")
+@Table(
+        name = "logs",
+        indexes = {
+                // Keyset pagination on (timestamp, id); InnoDB appends the PK to every secondary index
+                @Index(name = "idx_logs_timestamp", columnList = "timestamp"),
+                @Index(name = "idx_logs_performed_by_timestamp", columnList = "performed_by, timestamp"),
+                @Index(name = "idx_logs_action_type_timestamp", columnList = "action_type, timestamp")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -2,6 +2,8 @@ package com.sqli.medwork.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
@@ -19,6 +21,9 @@ import java.time.LocalDateTime;
                 @Index(name = "idx_recurring_doctor_day", columnList = "doctor_id, day_of_week")
         }
 )
+// Second-level cached like User: weekly patterns change rarely and are read on every slot generation
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
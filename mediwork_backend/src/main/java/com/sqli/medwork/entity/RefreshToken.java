@@ -10,8 +10,10 @@ import java.time.LocalDateTime;
 @Table(
         name = "refresh_tokens",
         indexes = {
-                @Index(name = "idx_token", columnList = "token"),
-                @Index(name = "idx_user", columnList = "user_id")
+                @Index(name = "idx_user", columnList = "user_id"),
+                @Index(name = "idx_expiry", columnList = "expiry_date"),
+                @Index(name = "idx_revoked_at", columnList = "revoked, revoked_at"),
+                @Index(name = "idx_family", columnList = "family_id")
         }
 )
 @Data
@@ -29,11 +31,19 @@ public class RefreshToken {
     @NotNull
     private User user;
 
+    // SHA-256 digest of the raw token: fixed-width key, no plaintext secret at rest
     @NotNull
-    @Size(max = 512)
-    @Column(nullable = false, unique = true, length = 512)
+    @Column(name = "token_hash", nullable = false, unique = true, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    // Raw token, only set on a freshly issued entity so it can be returned to the client once
+    @Transient
     private String token;
 
+    // Rotation chain: every token obtained by refreshing shares the family of the login token
+    @Column(name = "family_id", length = 36)
+    private String familyId;
+
     @NotNull
     @Column(nullable = false)
     private LocalDateTime expiryDate;
@@ -46,6 +56,9 @@ public class RefreshToken {
     @Builder.Default
     private boolean revoked = false;
 
+    // When the token was revoked; revoked tokens are kept for a grace period, then purged
+    private LocalDateTime revokedAt;
+
     @Size(max = 255)
     @Column(length = 255)
     private String deviceInfo; // Optional: browser, device, IP address
@@ -1,8 +1,12 @@
 package com.sqli.medwork.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.sqli.medwork.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,7 +16,19 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(
+        name = "users",
+        indexes = {
+                // Prefix search (LIKE 'term%'); email and matricule are covered by their unique indexes
+                @Index(name = "idx_users_last_name", columnList = "last_name"),
+                @Index(name = "idx_users_first_name", columnList = "first_name"),
+                @Index(name = "idx_users_search_name", columnList = "search_name"),
+                @Index(name = "idx_users_role_archived", columnList = "role, archived")
+        }
+)
+// Read-mostly: second-level cache (region in hibernate-jcache.conf), kept in sync by Hibernate on JPA writes
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,6 +72,20 @@ public class User implements UserDetails {
 
     private LocalDateTime lastLogin;
 
+    // Bumped on archive, restore, role change and admin update; access tokens carry it as the "sv" claim.
+    // Database default as well: the bulk import inserts users with plain JDBC
+    @JsonIgnore
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int securityVersion = 0;
+
+    // Normalised "last first" name maintained by the database, for full-name prefix search
+    @JsonIgnore
+    @Column(name = "search_name", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(511) GENERATED ALWAYS AS (LOWER(CONCAT(last_name, ' ', first_name)))")
+    private String searchName;
+
     // Implémentation UserDetails
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
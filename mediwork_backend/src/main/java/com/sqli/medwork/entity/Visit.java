@@ -14,10 +14,10 @@ import java.time.LocalDateTime;
 @Table(
         name = "visits",
         indexes = {
-                @Index(name = "idx_collaborator", columnList = "collaborator_id"),
-                @Index(name = "idx_doctor", columnList = "doctor_id"),
+                @Index(name = "idx_visit_collaborator", columnList = "collaborator_id"),
+                @Index(name = "idx_visit_doctor", columnList = "doctor_id"),
                 @Index(name = "idx_slot", columnList = "slot_id"),
-                @Index(name = "idx_status", columnList = "status"),
+                @Index(name = "idx_visit_status", columnList = "status"),
                 @Index(name = "idx_created_by", columnList = "created_by"),
                 @Index(name = "idx_created_at", columnList = "created_at")
         }
@@ -0,0 +1,25 @@
+package com.sqli.medwork.enums;
+
+import java.util.Set;
+
+/**
+ * State changes pushed to connected clients over WebSocket, with the role topics that receive them
+ */
+public enum ChangeType {
+    VISIT_CONFIRMED(Set.of(Role.RH)),
+    VISIT_REJECTED(Set.of(Role.RH)),
+    VISIT_CANCELLED(Set.of(Role.RH)),
+    SLOT_LOCKED(Set.of(Role.RH)),
+    SLOT_RELEASED(Set.of(Role.RH)),
+    SPONTANEOUS_REQUEST_SUBMITTED(Set.of(Role.RH, Role.ADMIN));
+
+    private final Set<Role> roles;
+
+    ChangeType(Set<Role> roles) {
+        this.roles = roles;
+    }
+
+    public Set<Role> getRoles() {
+        return roles;
+    }
+}
@@ -0,0 +1,9 @@
+package com.sqli.medwork.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends ApiException {
+    public InvalidCursorException(String message) {
+        super(message, HttpStatus.BAD_REQUEST, "INVALID_CURSOR");
+    }
+}
@@ -0,0 +1,9 @@
+package com.sqli.medwork.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidImportFileException extends ApiException {
+    public InvalidImportFileException(String message) {
+        super(message, HttpStatus.BAD_REQUEST, "INVALID_IMPORT_FILE");
+    }
+}
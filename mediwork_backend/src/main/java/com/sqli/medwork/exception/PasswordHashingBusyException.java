@@ -0,0 +1,9 @@
+package com.sqli.medwork.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PasswordHashingBusyException extends ApiException {
+    public PasswordHashingBusyException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "PASSWORD_HASHING_BUSY");
+    }
+}
@@ -0,0 +1,9 @@
+package com.sqli.medwork.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyLoginAttemptsException extends ApiException {
+    public TooManyLoginAttemptsException(String message) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_LOGIN_ATTEMPTS");
+    }
+}
@@ -2,17 +2,37 @@ package com.sqli.medwork.repository;
 
 import com.sqli.medwork.entity.Log;
 import com.sqli.medwork.enums.LogActionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface LogRepository extends JpaRepository<Log, Long> {
 
-    // ✅ Basic filtering methods (Spring implements automatically)
-    List<Log> findByActionType(LogActionType actionType);
-    List<Log> findByPerformedBy(String email);
-    List<Log> findByRole(String role);
-    List<Log> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
-
-}
\ No newline at end of file
+    // ✅ Keyset page of audit entries, newest first, with optional combined filters.
+    // The cursor (cursorTimestamp, cursorId) is the last row of the previous page; null for the first page.
+    // Pageable only carries the limit (page 0), so no OFFSET scan and no COUNT query.
+    // The cursor adds a plain upper bound (timestamp <= cursor) next to the tie-break on id, so the timestamp
+    // index range is bounded; the month partitions can only be pruned on those bounds once the optional
+    // "IS NULL OR" filters fold away, i.e. with inlined parameters (the driver's default client-side statements).
+    @Query("SELECT l FROM Log l WHERE " +
+            "(:actionType IS NULL OR l.actionType = :actionType) AND " +
+            "(:performedBy IS NULL OR l.performedBy = :performedBy) AND " +
+            "(:role IS NULL OR l.role = :role) AND " +
+            "(:from IS NULL OR l.timestamp >= :from) AND " +
+            "(:to IS NULL OR l.timestamp < :to) AND " +
+            "(:cursorTimestamp IS NULL OR (l.timestamp <= :cursorTimestamp " +
+            "   AND (l.timestamp < :cursorTimestamp OR l.id < :cursorId))) " +
+            "ORDER BY l.timestamp DESC, l.id DESC")
+    List<Log> findPage(@Param("actionType") LogActionType actionType,
+                       @Param("performedBy") String performedBy,
+                       @Param("role") String role,
+                       @Param("from") LocalDateTime from,
+                       @Param("to") LocalDateTime to,
+                       @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+                       @Param("cursorId") Long cursorId,
+                       Pageable limit);
+}
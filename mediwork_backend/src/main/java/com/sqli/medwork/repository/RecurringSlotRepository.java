@@ -2,8 +2,11 @@ package com.sqli.medwork.repository;
 
 import com.sqli.medwork.entity.RecurringSlot;
 import com.sqli.medwork.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,10 +17,12 @@ import java.util.Optional;
 @Repository
 public interface RecurringSlotRepository extends JpaRepository<RecurringSlot, Long> {
 
-    // Find all recurring slots for a specific doctor
+    // Find all recurring slots for a specific doctor (query cache, invalidated by any recurring_slots write)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<RecurringSlot> findByDoctorOrderByDayOfWeekAscStartTimeAsc(User doctor);
 
     // Find recurring slots by doctor and day of week
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<RecurringSlot> findByDoctorAndDayOfWeekOrderByStartTimeAsc(User doctor, DayOfWeek dayOfWeek);
 
     // Check if doctor already has a recurring slot for a specific day and time range
@@ -2,10 +2,13 @@ package com.sqli.medwork.repository;
 
 import com.sqli.medwork.entity.RefreshToken;
 import com.sqli.medwork.entity.User;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
@@ -14,27 +17,49 @@ import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    // Find refresh token by token string
-    Optional<RefreshToken> findByToken(String token);
+    // Find refresh token by SHA-256 digest of the raw token, with its user in the same query
+    @Query("select rt from RefreshToken rt join fetch rt.user where rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
 
     // Find all active (not revoked) refresh tokens for a user
     List<RefreshToken> findByUserAndRevokedFalse(User user);
 
-    // Delete all tokens expired before a specific date (cleanup)
-    void deleteByExpiryDateBefore(LocalDateTime date);
+    // Delete one bounded chunk of tokens expired before a date (cleanup, MySQL DELETE ... LIMIT)
+    // Native DML invalidates every second-level cache region unless its table is declared
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "DELETE FROM refresh_tokens WHERE expiry_date < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteExpiredChunk(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Delete one bounded chunk of tokens revoked before a date (rows revoked before revoked_at existed included)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "DELETE FROM refresh_tokens WHERE revoked = true AND (revoked_at IS NULL OR revoked_at < :cutoff) LIMIT :limit",
+            nativeQuery = true)
+    int deleteRevokedChunk(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 
     // Check if a non-revoked token exists
-    boolean existsByTokenAndRevokedFalse(String token);
+    boolean existsByTokenHashAndRevokedFalse(byte[] tokenHash);
 
     // Revoke a specific token (mark as revoked)
     @Modifying
     @Transactional
-    @Query("update RefreshToken rt set rt.revoked = true where rt.token = :token")
-    int revokeByToken(@Param("token") String token);
+    @Query("update RefreshToken rt set rt.revoked = true, rt.revokedAt = :now where rt.tokenHash = :tokenHash and rt.revoked = false")
+    int revokeByTokenHash(@Param("tokenHash") byte[] tokenHash, @Param("now") LocalDateTime now);
+
+    // Claim a token for rotation: only one concurrent caller can flip it from active to revoked
+    @Modifying
+    @Query("update RefreshToken rt set rt.revoked = true, rt.revokedAt = :now where rt.id = :id and rt.revoked = false")
+    int claimForRotation(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Revoke every token of a rotation family (reuse of a rotated token detected)
+    @Modifying
+    @Query("update RefreshToken rt set rt.revoked = true, rt.revokedAt = :now where rt.familyId = :familyId and rt.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
 
     // Revoke all tokens for a given user (e.g., logout all sessions)
     @Modifying
     @Transactional
-    @Query("update RefreshToken rt set rt.revoked = true where rt.user = :user")
-    int revokeAllByUser(@Param("user") User user);
+    @Query("update RefreshToken rt set rt.revoked = true, rt.revokedAt = :now where rt.user = :user and rt.revoked = false")
+    int revokeAllByUser(@Param("user") User user, @Param("now") LocalDateTime now);
 }
@@ -85,6 +85,9 @@ public interface SlotRepository extends JpaRepository<Slot, Long> {
     /** Count slots by status for a doctor */
     long countByDoctorIdAndStatus(Long doctorId, SlotStatus status);
 
+    /** Count slots by status (business gauges) */
+    long countByStatus(SlotStatus status);
+
     /** Find slots created within a time period */
     List<Slot> findByCreatedAtBetween(LocalDateTime startTime, LocalDateTime endTime);
 }
@@ -1,20 +1,91 @@
 package com.sqli.medwork.repository;
 
 import com.sqli.medwork.dto.response.RoleCount;
+import com.sqli.medwork.dto.response.UserSummaryResponse;
 import com.sqli.medwork.entity.User;
 import com.sqli.medwork.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Query cache: login and principal loading resolve the same emails over and over; the entity comes from the L2 cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByMatricule(String matricule);  // ← Uncomment this!
+    boolean existsByMatriculeAndIdNot(String matricule, Long id);
     List<User> findByRole(Role role);
 
+    // Security version only, checked by the JWT filter without hydrating the user
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findSecurityVersionById(@Param("id") Long id);
+    long countByRole(Role role);
+    List<User> findByRoleAndArchivedFalse(Role role);
+    List<User> findByArchivedFalse();
+
+    // ✅ Paginated admin listing projected straight into the DTO (only the listed columns are selected)
+    @Query(value = "SELECT new com.sqli.medwork.dto.response.UserSummaryResponse(" +
+            "u.id, u.firstName, u.lastName, u.email, u.matricule, u.role, u.archived, u.dateCreation, u.lastLogin) " +
+            "FROM User u WHERE (:role IS NULL OR u.role = :role)",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE (:role IS NULL OR u.role = :role)")
+    Page<UserSummaryResponse> findSummaries(@Param("role") Role role, Pageable pageable);
+
+    // ✅ Paginated admin search. :prefix is an escaped 'term%' pattern (escape char '!'), so every
+    // branch is a range scan on its own index; role/archived use idx_users_role_archived.
+    @Query(value = "SELECT u FROM User u WHERE " +
+            "(:role IS NULL OR u.role = :role) AND " +
+            "(:archived IS NULL OR u.archived = :archived) AND " +
+            "(:prefix IS NULL OR u.email LIKE :prefix ESCAPE '!' " +
+            "   OR u.matricule LIKE :prefix ESCAPE '!' " +
+            "   OR u.lastName LIKE :prefix ESCAPE '!' " +
+            "   OR u.firstName LIKE :prefix ESCAPE '!' " +
+            "   OR u.searchName LIKE :prefix ESCAPE '!')",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE " +
+            "(:role IS NULL OR u.role = :role) AND " +
+            "(:archived IS NULL OR u.archived = :archived) AND " +
+            "(:prefix IS NULL OR u.email LIKE :prefix ESCAPE '!' " +
+            "   OR u.matricule LIKE :prefix ESCAPE '!' " +
+            "   OR u.lastName LIKE :prefix ESCAPE '!' " +
+            "   OR u.firstName LIKE :prefix ESCAPE '!' " +
+            "   OR u.searchName LIKE :prefix ESCAPE '!')")
+    Page<User> search(@Param("prefix") String prefix,
+                      @Param("role") Role role,
+                      @Param("archived") Boolean archived,
+                      Pageable pageable);
+
+    // ✅ Unique keys of every user in one query, for duplicate checks during bulk import
+    @Query("SELECT u.email AS email, u.matricule AS matricule FROM User u")
+    List<IdentityKeys> findAllIdentityKeys();
+
+    interface IdentityKeys {
+        String getEmail();
+        String getMatricule();
+    }
+
+    // ✅ All dashboard counters in one aggregate query (SUMs are null on an empty table)
+    @Query("SELECT COUNT(u) AS totalUsers, " +
+            "SUM(CASE WHEN u.archived = false THEN 1 ELSE 0 END) AS activeUsers, " +
+            "SUM(CASE WHEN u.archived = true THEN 1 ELSE 0 END) AS archivedUsers, " +
+            "SUM(CASE WHEN u.role = com.sqli.medwork.enums.Role.PENDING THEN 1 ELSE 0 END) AS pendingUsers " +
+            "FROM User u")
+    StatisticsView aggregateStatistics();
+
+    interface StatisticsView {
+        Long getTotalUsers();
+        Long getActiveUsers();
+        Long getArchivedUsers();
+        Long getPendingUsers();
+    }
+
     @Query("SELECT u.role AS role, COUNT(u) AS count FROM User u GROUP BY u.role")
     List<RoleCount> countUsersByRole();
 }
\ No newline at end of file
@@ -123,6 +123,9 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
     /** Count visits by status for a doctor */
     long countByDoctorIdAndStatus(Long doctorId, VisitStatus status);
 
+    /** Count visits by status (business gauges) */
+    long countByStatus(VisitStatus status);
+
     /** Find visits created within a time period */
     List<Visit> findByCreatedAtBetween(LocalDateTime startTime, LocalDateTime endTime);
 
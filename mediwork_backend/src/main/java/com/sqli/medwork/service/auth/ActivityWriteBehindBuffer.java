@@ -0,0 +1,120 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for non-critical activity timestamps
+ * (users.last_login and refresh_tokens.last_used_at).
+ *
+ * Updates are coalesced in memory (latest timestamp wins per row) and flushed
+ * periodically with batched UPDATEs, instead of one entity save per login/refresh.
+ * Security-relevant state (lockout counters, revocation) is never routed through here.
+ * The JDBC updates bypass Hibernate, so flushed users are evicted from the second-level cache.
+ */
+@Slf4j
+@Service
+public class ActivityWriteBehindBuffer {
+
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login = ? WHERE id = ?";
+    private static final String UPDATE_LAST_USED_AT = "UPDATE refresh_tokens SET last_used_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Long, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingTokenUses = new ConcurrentHashMap<>();
+    private final Counter flushedRows;
+
+    public ActivityWriteBehindBuffer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        meterRegistry.gauge("auth.write_behind.pending", this, buffer -> buffer.pendingLogins.size() + buffer.pendingTokenUses.size());
+        this.flushedRows = meterRegistry.counter("auth.write_behind.flushed");
+    }
+
+    /**
+     * Record a successful login
+     * @param userId User ID
+     * @param at Login time
+     */
+    public void recordLogin(Long userId, LocalDateTime at) {
+        pendingLogins.merge(userId, at, ActivityWriteBehindBuffer::latest);
+    }
+
+    /**
+     * Record a refresh token use
+     * @param refreshTokenId Refresh token ID
+     * @param at Use time
+     */
+    public void recordRefreshTokenUse(Long refreshTokenId, LocalDateTime at) {
+        pendingTokenUses.merge(refreshTokenId, at, ActivityWriteBehindBuffer::latest);
+    }
+
+    /**
+     * Flush pending timestamps with one batched UPDATE per table
+     */
+    @Scheduled(fixedDelayString = "${auth.write-behind.flush-interval-ms:5000}")
+    public void flush() {
+        flush(pendingLogins, UPDATE_LAST_LOGIN, User.class);
+        flush(pendingTokenUses, UPDATE_LAST_USED_AT, null);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(Map<Long, LocalDateTime> pending, String sql, Class<?> cachedEntity) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Only take entries that were not overwritten meanwhile; newer values stay for the next flush
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            Long id = entry.getKey();
+            LocalDateTime at = entry.getValue();
+            if (pending.remove(id, at)) {
+                batch.add(Map.entry(id, at));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(sql, batch, batch.size(), (ps, entry) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                ps.setLong(2, entry.getKey());
+            });
+            if (cachedEntity != null) {
+                batch.forEach(entry -> entityManagerFactory.getCache().evict(cachedEntity, entry.getKey()));
+            }
+            flushedRows.increment(batch.size());
+            log.debug("Flushed {} activity timestamps: {}", batch.size(), sql);
+        } catch (Exception e) {
+            // Put entries back so the next flush retries them
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), ActivityWriteBehindBuffer::latest));
+            log.error("Failed to flush activity timestamps: {}", e.getMessage());
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
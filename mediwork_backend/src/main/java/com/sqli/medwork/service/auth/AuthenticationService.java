@@ -33,6 +33,8 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenService refreshTokenService;
     private final LogService logService;
+    private final ActivityWriteBehindBuffer activityWriteBehindBuffer;
+    private final LoginThrottle loginThrottle;
 
     // Max allowed failed attempts before locking
     private static final int MAX_FAILED_ATTEMPTS = 3;
@@ -42,9 +44,18 @@ public class AuthenticationService {
     @Value("${jwt.expiration:3600000}") // Default 1 hour in milliseconds
     private long jwtExpirationInMs;
 
-    // Login method delegates to authenticate
-    public LoginResponse login(LoginRequest request) {
-        return authenticate(request);
+    // Login method delegates to authenticate, after the in-memory throttle (no DB or BCrypt work when over limit).
+    // Only failed attempts count against the client IP
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        loginThrottle.checkAttempt(request.getEmail(), clientIp);
+        try {
+            return authenticate(request);
+        } catch (InvalidCredentialsException | AccountLockedException e) {
+            loginThrottle.recordFailure(clientIp);
+            logService.log(LogActionType.LOGIN_FAILURE,
+                    "Login failed for user: " + request.getEmail() + " (" + e.getMessage() + ")");
+            throw e;
+        }
     }
 
     // Authentication logic for login
@@ -81,14 +92,17 @@ public class AuthenticationService {
             throw new InvalidCredentialsException("Email ou mot de passe incorrect");
         }
 
-        // Reset failed attempts and update last login on successful login
-        user.setFailedLoginAttempts(0);
-        user.setAccountLockedUntil(null);
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Reset failed attempts synchronously only when there is something to reset
+        if (user.getFailedLoginAttempts() != 0 || user.getAccountLockedUntil() != null) {
+            user.setFailedLoginAttempts(0);
+            user.setAccountLockedUntil(null);
+            userRepository.save(user);
+        }
+        // Last login is bookkeeping only: flushed in batches by the write-behind buffer
+        activityWriteBehindBuffer.recordLogin(user.getId(), LocalDateTime.now());
 
         // Generate access token and refresh token
-        String accessToken = jwtService.generateToken(user.getEmail());
+        String accessToken = jwtService.generateToken(user);
         RefreshToken refreshToken = refreshTokenService.generateRefreshToken(user, null);
 
         logService.log(LogActionType.LOGIN_SUCCESS,
@@ -133,7 +147,7 @@ public class AuthenticationService {
         userRepository.save(user);
 
         // Generate access token and refresh token
-        String accessToken = jwtService.generateToken(user.getEmail());
+        String accessToken = jwtService.generateToken(user);
         RefreshToken refreshToken = refreshTokenService.generateRefreshToken(user, null);
 
         logService.log(LogActionType.CREATE_USER,
@@ -155,22 +169,14 @@ public class AuthenticationService {
      * @param request RefreshTokenRequest containing the refresh token
      * @return RefreshTokenResponse with new access token and refresh token
      */
-    @Transactional
+    @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
     public RefreshTokenResponse refreshToken(RefreshTokenRequest request) {
-        // Validate refresh token and get user
-        User user = refreshTokenService.validateRefreshToken(request.getRefreshToken());
+        // Claim the old token and issue its successor atomically (token rotation for security)
+        RefreshToken newRefreshToken = refreshTokenService.rotateRefreshToken(request.getRefreshToken());
+        User user = newRefreshToken.getUser();
 
         // Generate new access token
-        String newAccessToken = jwtService.generateToken(user.getEmail());
-
-        // Generate new refresh token (token rotation for security)
-        RefreshToken newRefreshToken = refreshTokenService.generateRefreshToken(user, null);
-
-        // Revoke the old refresh token for security
-        refreshTokenService.revokeRefreshToken(request.getRefreshToken());
-
-        logService.log(LogActionType.REFRESH_TOKEN_VALIDATED,
-                "Token refreshed for user: " + user.getEmail());
+        String newAccessToken = jwtService.generateToken(user);
 
         return RefreshTokenResponse.builder()
                 .accessToken(newAccessToken)
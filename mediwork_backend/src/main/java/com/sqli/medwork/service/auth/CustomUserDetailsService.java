@@ -1,15 +1,19 @@
 package com.sqli.medwork.service.auth;
 
+import com.sqli.medwork.entity.User;
 import com.sqli.medwork.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -18,4 +22,19 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
     }
+
+    /**
+     * Persist a password rehashed on login (BCrypt cost factor changed)
+     * @param user Authenticated user
+     * @param newPassword New encoded password
+     * @return Updated user
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
+        entity.setPassword(newPassword);
+        log.info("Password rehashed with the configured cost factor for user: {}", entity.getEmail());
+        return userRepository.save(entity);
+    }
 }
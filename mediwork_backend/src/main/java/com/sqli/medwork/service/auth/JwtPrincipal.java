@@ -0,0 +1,34 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight principal built from verified JWT claims, without loading the user entity.
+ *
+ * @param id    User ID (uid claim)
+ * @param email User email (subject)
+ * @param role  User role (role claim)
+ */
+public record JwtPrincipal(Long id, String email, Role role) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a verified access token into the authenticated principal, for HTTP requests and WebSocket sessions.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+
+    private final PrincipalCache principalCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
+
+    /**
+     * Build the principal for a verified token.
+     * Tokens with a current security version are trusted as-is (no user lookup while the version is cached);
+     * stale or legacy tokens are checked against the cached user record.
+     * @param token Verified token
+     * @return Principal, or null if the token no longer reflects the user's authorities
+     */
+    public UserDetails resolve(VerifiedToken token) {
+        if (token.hasAuthorityClaims()
+                && securityVersionRegistry.isCurrent(token.userId(), token.securityVersion())) {
+            return new JwtPrincipal(token.userId(), token.subject(), token.role());
+        }
+
+        UserDetails userDetails = principalCache.getPrincipal(token.subject());
+        if (!userDetails.isEnabled()) {
+            return null;
+        }
+        if (token.role() != null && userDetails instanceof User user && user.getRole() != token.role()) {
+            return null;
+        }
+        return userDetails;
+    }
+
+    /**
+     * @param principal Principal returned by {@link #resolve}
+     * @return User ID of the principal
+     */
+    public static Long userId(UserDetails principal) {
+        return principal instanceof JwtPrincipal jwtPrincipal ? jwtPrincipal.id() : ((User) principal).getId();
+    }
+}
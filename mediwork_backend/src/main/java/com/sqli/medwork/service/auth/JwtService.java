@@ -1,5 +1,7 @@
 package com.sqli.medwork.service.auth;
 
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,31 +14,69 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
 
-    @Value("${jwt.expiration}") // en millisecondes
-    private long jwtExpirationInMs;
+    // ✅ ADDED: Key and parser are built once - both are immutable and thread-safe
+    private final Key signingKey;
+    private final JwtParser jwtParser;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    private final long jwtExpirationInMs; // en millisecondes
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration}") long jwtExpirationInMs) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.jwtExpirationInMs = jwtExpirationInMs;
     }
 
-    public String generateToken(String email) {
+    /**
+     * Generate an access token carrying the user id, role and current security version
+     * @param user Authenticated user
+     * @return Compact JWS
+     */
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_SECURITY_VERSION, user.getSecurityVersion())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Parse and verify a token once (signature + expiry)
+     * @param token Compact JWS
+     * @return Verified claims
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        Date issuedAt = claims.getIssuedAt();
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number securityVersion = claims.get(CLAIM_SECURITY_VERSION, Number.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                claims.getExpiration().toInstant(),
+                userId != null ? userId.longValue() : null,
+                role != null ? Role.valueOf(role) : null,
+                securityVersion != null ? securityVersion.intValue() : null);
+    }
+
     public boolean isTokenValid(String token, String userEmail) {
-        final String email = extractEmail(token);
-        return (email.equals(userEmail) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userEmail) && claims.getExpiration().after(new Date());
     }
 
     public String extractEmail(String token) {
@@ -49,19 +89,6 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 }
-
@@ -0,0 +1,148 @@
+package com.sqli.medwork.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sqli.medwork.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * In-memory token-bucket limiter for login attempts, per email and per client IP.
+ *
+ * Checked before any database access or BCrypt work, so credential-stuffing bursts are
+ * rejected cheaply. The persisted lockout on User (failedLoginAttempts / accountLockedUntil)
+ * still applies and survives restarts; this limiter only sheds load.
+ */
+@Slf4j
+@Service
+public class LoginThrottle {
+
+    private final Limiter emailLimiter;
+    private final Limiter ipLimiter;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.login-throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${auth.login-throttle.email.refill-per-minute:5}") double emailRefillPerMinute,
+                         @Value("${auth.login-throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${auth.login-throttle.ip.refill-per-minute:20}") double ipRefillPerMinute,
+                         @Value("${auth.login-throttle.maximum-keys:100000}") long maximumKeys) {
+        this.emailLimiter = new Limiter("email", emailCapacity, emailRefillPerMinute, maximumKeys, meterRegistry);
+        this.ipLimiter = new Limiter("ip", ipCapacity, ipRefillPerMinute, maximumKeys, meterRegistry);
+    }
+
+    /**
+     * Check a login attempt before any database or BCrypt work.
+     * The email bucket is consumed by every attempt; the IP bucket is only consumed by failures
+     * ({@link #recordFailure}), so successful logins behind a shared proxy or NAT do not count.
+     * @param email Email from the login request
+     * @param clientIp Client address (may be null)
+     * @throws TooManyLoginAttemptsException if either bucket is empty
+     */
+    public void checkAttempt(String email, String clientIp) {
+        if (clientIp != null && !ipLimiter.hasCapacity(clientIp)) {
+            log.warn("Login throttled for IP: {}", clientIp);
+            throw new TooManyLoginAttemptsException("Trop de tentatives de connexion, réessayez plus tard");
+        }
+        if (email != null && !emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            log.warn("Login throttled for email: {}", email);
+            throw new TooManyLoginAttemptsException("Trop de tentatives de connexion, réessayez plus tard");
+        }
+    }
+
+    /**
+     * Consume one attempt from the IP bucket after a failed login
+     * @param clientIp Client address (may be null)
+     */
+    public void recordFailure(String clientIp) {
+        if (clientIp != null) {
+            ipLimiter.consume(clientIp);
+        }
+    }
+
+    /**
+     * One token bucket per key, kept in a bounded cache and dropped once idle long enough to be full again.
+     */
+    private static final class Limiter {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private final Cache<String, Bucket> buckets;
+        private final Counter allowed;
+        private final Counter throttled;
+
+        Limiter(String scope, int capacity, double refillPerMinute, long maximumKeys, MeterRegistry meterRegistry) {
+            if (capacity < 1 || !(refillPerMinute > 0)) {
+                throw new IllegalArgumentException("auth.login-throttle." + scope
+                        + ": capacity must be >= 1 and refill-per-minute > 0 (got " + capacity + ", " + refillPerMinute + ")");
+            }
+            this.capacity = capacity;
+            this.refillPerNano = refillPerMinute / Duration.ofMinutes(1).toNanos();
+            long idleMinutes = (long) Math.ceil(capacity / refillPerMinute);
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maximumKeys)
+                    .expireAfterAccess(Duration.ofMinutes(Math.max(1, idleMinutes)))
+                    .build();
+            this.allowed = meterRegistry.counter("auth.login.attempts", "scope", scope, "outcome", "allowed");
+            this.throttled = meterRegistry.counter("auth.login.attempts", "scope", scope, "outcome", "throttled");
+            meterRegistry.gauge("auth.login.throttle.keys", Tags.of("scope", scope),
+                    buckets, Cache::estimatedSize);
+        }
+
+        boolean tryAcquire(String key) {
+            boolean acquired = bucket(key).tryAcquire(capacity, refillPerNano, System.nanoTime());
+            (acquired ? allowed : throttled).increment();
+            return acquired;
+        }
+
+        boolean hasCapacity(String key) {
+            boolean available = bucket(key).hasToken(capacity, refillPerNano, System.nanoTime());
+            (available ? allowed : throttled).increment();
+            return available;
+        }
+
+        void consume(String key) {
+            bucket(key).tryAcquire(capacity, refillPerNano, System.nanoTime());
+        }
+
+        private Bucket bucket(String key) {
+            return buckets.get(key, k -> new Bucket(capacity));
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(int capacity) {
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized boolean hasToken(int capacity, double refillPerNano, long now) {
+            refill(capacity, refillPerNano, now);
+            return tokens >= 1;
+        }
+
+        synchronized boolean tryAcquire(int capacity, double refillPerNano, long now) {
+            refill(capacity, refillPerNano, now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        private void refill(int capacity, double refillPerNano, long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
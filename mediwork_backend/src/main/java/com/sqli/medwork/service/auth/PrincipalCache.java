@@ -0,0 +1,82 @@
+package com.sqli.medwork.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals used by the JWT filter.
+ *
+ * Avoids one users lookup per API call: the principal is loaded once per email
+ * and reused until it expires or is explicitly invalidated by a user mutation
+ * (archive, restore, role change, admin update).
+ */
+@Slf4j
+@Service
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principalCache";
+
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(CustomUserDetailsService userDetailsService,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the principal for an email, loading it from the database on a miss
+     * @param email User email (JWT subject)
+     * @return Cached or freshly loaded principal
+     */
+    public UserDetails getPrincipal(String email) {
+        return cache.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Invalidate the cached principal for an email.
+     * When called inside a transaction, the entry is evicted again after commit
+     * so a concurrent request cannot re-cache the pre-commit state.
+     * @param email User email
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+        log.debug("Principal cache invalidated for: {}", email);
+    }
+
+    /**
+     * Invalidate every cached principal
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
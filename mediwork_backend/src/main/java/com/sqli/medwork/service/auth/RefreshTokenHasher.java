@@ -0,0 +1,30 @@
+package com.sqli.medwork.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digest of raw refresh tokens, used as the stored lookup key.
+ * Refresh tokens are 64 random bytes, so an unsalted fast hash is sufficient.
+ */
+public final class RefreshTokenHasher {
+
+    public static final int HASH_LENGTH = 32;
+
+    private RefreshTokenHasher() {
+    }
+
+    /**
+     * @param rawToken Token as sent by the client
+     * @return 32-byte SHA-256 digest
+     */
+    public static byte[] hash(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every Java platform
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
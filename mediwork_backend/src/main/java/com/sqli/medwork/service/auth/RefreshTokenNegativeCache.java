@@ -0,0 +1,56 @@
+package com.sqli.medwork.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Remembers refresh token digests that are known not to exist in the database.
+ *
+ * Tokens are random, so a digest that is unknown now can never become valid later:
+ * repeated replays of garbage or already-purged tokens are answered from memory.
+ */
+@Service
+public class RefreshTokenNegativeCache {
+
+    private static final String CACHE_NAME = "unknownRefreshTokens";
+
+    private final Cache<String, Boolean> cache;
+
+    public RefreshTokenNegativeCache(MeterRegistry meterRegistry,
+                                     @Value("${auth.refresh-token.negative-cache.maximum-size:100000}") long maximumSize,
+                                     @Value("${auth.refresh-token.negative-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @param tokenHash Token digest
+     * @return true if the digest was recently looked up and not found
+     */
+    public boolean isKnownMissing(byte[] tokenHash) {
+        return cache.getIfPresent(key(tokenHash)) != null;
+    }
+
+    /**
+     * Record a digest that was not found in the database
+     * @param tokenHash Token digest
+     */
+    public void markMissing(byte[] tokenHash) {
+        cache.put(key(tokenHash), Boolean.TRUE);
+    }
+
+    private static String key(byte[] tokenHash) {
+        return HexFormat.of().formatHex(tokenHash);
+    }
+}
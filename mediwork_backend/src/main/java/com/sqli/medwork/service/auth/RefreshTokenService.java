@@ -1,5 +1,6 @@
 package com.sqli.medwork.service.auth;
 
+import com.sqli.medwork.dto.response.RefreshTokenPurgeResponse;
 import com.sqli.medwork.entity.RefreshToken;
 import com.sqli.medwork.entity.User;
 import com.sqli.medwork.enums.LogActionType;
@@ -15,12 +16,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntSupplier;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +37,9 @@ public class RefreshTokenService {
     private final UserRepository userRepository;
     private final LogService logService;
     private final JwtService jwtService;
+    private final ActivityWriteBehindBuffer activityWriteBehindBuffer;
+    private final RefreshTokenNegativeCache negativeCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${jwt.refresh-token.expiration:604800}") // 7 days in seconds
     private long refreshTokenExpiration;
@@ -38,6 +47,15 @@ public class RefreshTokenService {
     @Value("${jwt.refresh-token.length:64}")
     private int refreshTokenLength;
 
+    @Value("${auth.refresh-token.purge.chunk-size:1000}")
+    private int purgeChunkSize;
+
+    @Value("${auth.refresh-token.purge.revoked-grace-hours:24}")
+    private long purgeRevokedGraceHours;
+
+    @Value("${auth.refresh-token.reuse-leeway-seconds:10}")
+    private long reuseLeewaySeconds;
+
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     /**
@@ -47,20 +65,10 @@ public class RefreshTokenService {
     @Transactional
     public RefreshToken generateRefreshToken(User user, String deviceInfo) {
         // Uncomment below line to revoke all previous tokens for single session apps
-        // refreshTokenRepository.revokeAllByUser(user);
-
-        String token = generateSecureToken();
-        LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(refreshTokenExpiration);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(token)
-                .expiryDate(expiryDate)
-                .revoked(false)
-                .deviceInfo(deviceInfo)
-                .build();
+        // refreshTokenRepository.revokeAllByUser(user, LocalDateTime.now());
 
-        RefreshToken savedToken = refreshTokenRepository.save(refreshToken);
+        // A login starts a new rotation family
+        RefreshToken savedToken = issueToken(user, deviceInfo, UUID.randomUUID().toString());
 
         logService.log(LogActionType.REFRESH_TOKEN_ISSUED,
                 "Refresh token generated for user: " + user.getEmail());
@@ -71,30 +79,86 @@ public class RefreshTokenService {
     }
 
     /**
-     * Validate a refresh token and return the associated user.
-     * Throws exceptions if invalid or expired.
+     * Rotate a refresh token: claim the presented token with one conditional UPDATE
+     * and insert its successor in the same family.
+     *
+     * Presenting a token that was already rotated (outside the concurrency leeway) is treated
+     * as theft: the whole family is revoked in a single statement. An expired token is deleted;
+     * both survive the exception thrown to the client (noRollbackFor).
+     * @param token Raw refresh token presented by the client
+     * @return Newly issued token (raw value available via getToken), with its user loaded
      */
-    @Transactional(readOnly = true)
-    public User validateRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+    @Transactional(noRollbackFor = {InvalidRefreshTokenException.class, RefreshTokenExpiredException.class})
+    public RefreshToken rotateRefreshToken(String token) {
+        RefreshToken current = findByRawToken(token)
                 .orElseThrow(() -> new RefreshTokenNotFoundException("Refresh token not found"));
+        User user = current.getUser();
+        LocalDateTime now = LocalDateTime.now();
 
-        if (refreshToken.isExpired()) {
-            refreshTokenRepository.delete(refreshToken);
+        if (current.isExpired()) {
+            refreshTokenRepository.delete(current);
             throw new RefreshTokenExpiredException("Refresh token has expired");
         }
 
-        if (refreshToken.isRevoked()) {
-            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        if (current.isRevoked()) {
+            handleReuse(current, now);
+        }
+
+        // Only one concurrent request can flip revoked=false -> true; the others get 0 rows
+        if (refreshTokenRepository.claimForRotation(current.getId(), now) == 0) {
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
         }
 
-        refreshToken.setLastUsedAt(LocalDateTime.now());
-        refreshTokenRepository.save(refreshToken);
+        // Usage timestamp is not security-relevant: coalesced and flushed in batches
+        activityWriteBehindBuffer.recordRefreshTokenUse(current.getId(), now);
+
+        String familyId = current.getFamilyId() != null ? current.getFamilyId() : UUID.randomUUID().toString();
+        RefreshToken rotated = issueToken(user, current.getDeviceInfo(), familyId);
 
         logService.log(LogActionType.REFRESH_TOKEN_VALIDATED,
-                "Refresh token validated for user: " + refreshToken.getUser().getEmail());
+                "Refresh token rotated for user: " + user.getEmail());
 
-        return refreshToken.getUser();
+        return rotated;
+    }
+
+    /**
+     * A revoked token was presented again. Within the leeway this is a concurrent refresh
+     * (e.g. two tabs) and is simply rejected; beyond it the token family is revoked.
+     */
+    private void handleReuse(RefreshToken current, LocalDateTime now) {
+        User user = current.getUser();
+        LocalDateTime revokedAt = current.getRevokedAt();
+        if (revokedAt != null && revokedAt.isAfter(now.minusSeconds(reuseLeewaySeconds))) {
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        int revokedCount = current.getFamilyId() != null
+                ? refreshTokenRepository.revokeFamily(current.getFamilyId(), now)
+                : refreshTokenRepository.revokeAllByUser(user, now);
+
+        logService.log(LogActionType.REFRESH_TOKEN_REVOKED,
+                "Refresh token reuse detected for user: " + user.getEmail()
+                        + " - " + revokedCount + " token(s) of the family revoked");
+        log.warn("Refresh token reuse detected for user: {} ({} tokens revoked)", user.getEmail(), revokedCount);
+
+        throw new InvalidRefreshTokenException("Refresh token has been revoked");
+    }
+
+    private RefreshToken issueToken(User user, String deviceInfo, String familyId) {
+        String token = generateSecureToken();
+        LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(refreshTokenExpiration);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(user)
+                .token(token)
+                .tokenHash(RefreshTokenHasher.hash(token))
+                .familyId(familyId)
+                .expiryDate(expiryDate)
+                .revoked(false)
+                .deviceInfo(deviceInfo)
+                .build();
+
+        return refreshTokenRepository.save(refreshToken);
     }
 
     /**
@@ -103,12 +167,15 @@ public class RefreshTokenService {
      */
     @Transactional
     public boolean revokeRefreshToken(String token) {
-        int updatedRows = refreshTokenRepository.revokeByToken(token);
+        byte[] tokenHash = RefreshTokenHasher.hash(token);
+        int updatedRows = refreshTokenRepository.revokeByTokenHash(tokenHash, LocalDateTime.now());
 
         if (updatedRows > 0) {
+            // Never log the raw token: a short digest prefix is enough to correlate
+            String fingerprint = fingerprint(tokenHash);
             logService.log(LogActionType.REFRESH_TOKEN_REVOKED,
-                    "Refresh token revoked: " + token);
-            log.info("Revoked refresh token: {}", token);
+                    "Refresh token revoked: " + fingerprint);
+            log.info("Revoked refresh token: {}", fingerprint);
             return true;
         }
         return false;
@@ -120,7 +187,7 @@ public class RefreshTokenService {
      */
     @Transactional
     public int revokeAllRefreshTokensForUser(User user) {
-        int revokedCount = refreshTokenRepository.revokeAllByUser(user);
+        int revokedCount = refreshTokenRepository.revokeAllByUser(user, LocalDateTime.now());
 
         if (revokedCount > 0) {
             logService.log(LogActionType.REFRESH_TOKEN_REVOKED,
@@ -144,7 +211,7 @@ public class RefreshTokenService {
      */
     @Transactional(readOnly = true)
     public boolean isRefreshTokenValid(String token) {
-        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByToken(token);
+        Optional<RefreshToken> refreshToken = findByRawToken(token);
 
         return refreshToken.isPresent() &&
                 !refreshToken.get().isExpired() &&
@@ -152,15 +219,69 @@ public class RefreshTokenService {
     }
 
     /**
-     * Scheduled cleanup of expired refresh tokens (runs daily at 2 AM).
+     * Scheduled purge of expired tokens and of revoked tokens past the grace period (runs daily at 2 AM).
+     * Rows are deleted in bounded chunks, each in its own short transaction, so the job never
+     * holds long locks or loads entities.
+     * @return Rows removed and duration
      */
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
-    public void cleanupExpiredTokens() {
-        LocalDateTime cutoffDate = LocalDateTime.now();
-        refreshTokenRepository.deleteByExpiryDateBefore(cutoffDate);
+    @Scheduled(cron = "${auth.refresh-token.purge.cron:0 0 2 * * ?}")
+    public RefreshTokenPurgeResponse cleanupExpiredTokens() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime revokedCutoff = now.minusHours(purgeRevokedGraceHours);
+
+        int expiredRemoved = deleteInChunks(() -> refreshTokenRepository.deleteExpiredChunk(now, purgeChunkSize));
+        int revokedRemoved = deleteInChunks(() -> refreshTokenRepository.deleteRevokedChunk(revokedCutoff, purgeChunkSize));
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Refresh token purge completed: {} expired, {} revoked removed ({} ms)",
+                expiredRemoved, revokedRemoved, durationMs);
+
+        return RefreshTokenPurgeResponse.builder()
+                .expiredRemoved(expiredRemoved)
+                .revokedRemoved(revokedRemoved)
+                .durationMs(durationMs)
+                .build();
+    }
 
-        log.info("Cleanup completed: removed expired refresh tokens");
+    /**
+     * Run a chunked DELETE until it removes fewer rows than the chunk size.
+     */
+    private int deleteInChunks(IntSupplier chunkDelete) {
+        int total = 0;
+        int deleted;
+        do {
+            Integer result = transactionTemplate.execute(status -> chunkDelete.getAsInt());
+            deleted = result != null ? result : 0;
+            total += deleted;
+        } while (deleted >= purgeChunkSize);
+        return total;
+    }
+
+    /**
+     * Look up a token by the digest of its raw value.
+     * Unknown digests are remembered so replays of invalid tokens skip the database.
+     * Only misses seen by read-write transactions are remembered: read-only ones may be served by
+     * a lagging replica that has not received a freshly issued token yet.
+     */
+    private Optional<RefreshToken> findByRawToken(String token) {
+        byte[] tokenHash = RefreshTokenHasher.hash(token);
+        if (negativeCache.isKnownMissing(tokenHash)) {
+            return Optional.empty();
+        }
+
+        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByTokenHash(tokenHash);
+        if (refreshToken.isEmpty() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            negativeCache.markMissing(tokenHash);
+        }
+        return refreshToken;
+    }
+
+    /**
+     * Short, non-reversible identifier of a token for logs.
+     */
+    private static String fingerprint(byte[] tokenHash) {
+        return HexFormat.of().formatHex(tokenHash, 0, 4);
     }
 
     /**
@@ -177,7 +298,7 @@ public class RefreshTokenService {
      */
     @Transactional(readOnly = true)
     public Optional<RefreshToken> getRefreshTokenByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return findByRawToken(token);
     }
 
     /**
@@ -186,7 +307,7 @@ public class RefreshTokenService {
      */
     @Transactional
     public boolean updateDeviceInfo(String token, String deviceInfo) {
-        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByToken(token);
+        Optional<RefreshToken> refreshToken = findByRawToken(token);
 
         if (refreshToken.isPresent()) {
             RefreshToken tokenEntity = refreshToken.get();
@@ -202,7 +323,7 @@ public class RefreshTokenService {
      */
     @Transactional(readOnly = true)
     public Optional<User> getUserByRefreshToken(String token) {
-        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByToken(token);
+        Optional<RefreshToken> refreshToken = findByRawToken(token);
 
         if (refreshToken.isPresent() && refreshToken.get().isActive()) {
             return Optional.of(refreshToken.get().getUser());
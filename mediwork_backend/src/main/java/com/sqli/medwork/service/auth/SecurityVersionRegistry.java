@@ -0,0 +1,82 @@
+package com.sqli.medwork.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Per-user security version, embedded in access tokens as the "sv" claim.
+ *
+ * The version is persisted on {@link User} and bumped whenever the user's authorities change
+ * (archive, restore, role change, admin update), so tokens issued before the change no longer
+ * match and must be re-checked against the database - also after a restart or on another node.
+ * Current versions are cached like principals: a bump is seen at once on this node and
+ * within the cache TTL on the others.
+ */
+@Slf4j
+@Service
+public class SecurityVersionRegistry {
+
+    private static final String CACHE_NAME = "securityVersionCache";
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public SecurityVersionRegistry(UserRepository userRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.principal-cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, CACHE_NAME);
+    }
+
+    /**
+     * Check whether a token version is still current for a user
+     * @param userId User ID (uid claim)
+     * @param version Token version (sv claim)
+     * @return true if the token was issued after the last bump (false for unknown users)
+     */
+    public boolean isCurrent(Long userId, int version) {
+        Integer current = versions.get(userId, id -> userRepository.findSecurityVersionById(id).orElse(null));
+        return current != null && current == version;
+    }
+
+    /**
+     * Invalidate every access token issued so far for a user.
+     * The new version is written with the user; the cached entry is evicted again
+     * after commit so a concurrent request cannot re-cache the pre-commit version.
+     * @param user Managed user entity, saved by the caller
+     */
+    public void bump(User user) {
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        Long userId = user.getId();
+        if (userId == null) {
+            return;
+        }
+        versions.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+        log.debug("Security version bumped for user {}", userId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.enums.Role;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of an access token whose signature and expiry have been verified.
+ *
+ * @param subject         User email (JWT subject)
+ * @param issuedAt        Issue instant, may be null for tokens without "iat"
+ * @param expiresAt       Expiry instant
+ * @param userId          User ID (uid claim), null for legacy tokens
+ * @param role            User role (role claim), null for legacy tokens
+ * @param securityVersion Security version (sv claim), null for legacy tokens
+ */
+public record VerifiedToken(String subject, Instant issuedAt, Instant expiresAt,
+                            Long userId, Role role, Integer securityVersion) {
+
+    /**
+     * @return true if the token carries everything needed to authenticate without a database lookup
+     */
+    public boolean hasAuthorityClaims() {
+        return userId != null && role != null && securityVersion != null;
+    }
+}
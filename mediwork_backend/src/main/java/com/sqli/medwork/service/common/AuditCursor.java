@@ -0,0 +1,47 @@
+package com.sqli.medwork.service.common;
+
+import com.sqli.medwork.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for audit pages: position (timestamp, id) of the last returned entry.
+ *
+ * @param timestamp Timestamp of the last entry
+ * @param id        ID of the last entry (tie-breaker)
+ */
+public record AuditCursor(LocalDateTime timestamp, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * @return URL-safe string to hand back to clients
+     */
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor Cursor received from a client, may be null or blank for the first page
+     * @return Decoded cursor, or null for the first page
+     * @throws InvalidCursorException if the cursor was not produced by {@link #encode()}
+     */
+    public static AuditCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new AuditCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.sqli.medwork.service.common;
+
+import com.sqli.medwork.entity.Log;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background writer for audit log entries.
+ *
+ * Entries are put in a bounded queue by {@link LogService} and handed in batches to the
+ * configured {@link AuditSink} by a single writer thread, either when a batch is full or every flush interval.
+ * When the queue is full the configured overflow policy applies:
+ * DROP discards the entry, BLOCK waits up to block-timeout-ms then discards, SYNC writes it on the caller thread.
+ * Remaining entries are drained on shutdown.
+ */
+@Slf4j
+@Service
+public class AuditLogWriter {
+
+    public enum OverflowPolicy { DROP, BLOCK, SYNC }
+
+    private final AuditSink auditSink;
+    private final BlockingQueue<Log> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogWriter(AuditSink auditSink,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.batch-size:200}") int batchSize,
+                          @Value("${audit.flush-interval-ms:1000}") long flushIntervalMs,
+                          @Value("${audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                          @Value("${audit.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.auditSink = auditSink;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+
+        meterRegistry.gaugeCollectionSize("audit.queue.depth", List.of(), queue);
+        this.written = meterRegistry.counter("audit.entries", "outcome", "written");
+        this.dropped = meterRegistry.counter("audit.entries", "outcome", "dropped");
+        this.flushTimer = meterRegistry.timer("audit.flush");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queue an entry for writing, applying the overflow policy if the queue is full
+     * @param entry Log entry (timestamp already set)
+     */
+    public void submit(Log entry) {
+        if (queue.offer(entry)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    if (queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(entry);
+            }
+            case SYNC -> write(List.of(entry));
+            default -> drop(entry);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Drain whatever is left on the shutdown thread
+        List<Log> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        log.info("Audit log writer stopped");
+    }
+
+    private void runWriter() {
+        List<Log> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Log first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Shutdown requested: stop() drains the rest
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Log> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> auditSink.write(batch));
+            written.increment(batch.size());
+        } catch (Exception e) {
+            // Audit must never break the writer loop: report and count as dropped
+            dropped.increment(batch.size());
+            log.error("Failed to write {} audit log entries: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void drop(Log entry) {
+        dropped.increment();
+        log.warn("Audit queue full, dropping entry: {} - {}", entry.getActionType(), entry.getDescription());
+    }
+}
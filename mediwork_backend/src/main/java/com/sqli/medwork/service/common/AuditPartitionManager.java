@@ -0,0 +1,203 @@
+package com.sqli.medwork.service.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Monthly RANGE COLUMNS partitioning of the logs table on timestamp (MySQL only).
+ *
+ * Partitions are named pYYYYMM and hold one calendar month; a trailing p_future (MAXVALUE)
+ * partition catches anything beyond the last month and is split ahead of time, while it is still empty.
+ * Partitions older than the retention are dropped, or exchanged into a logs_archive_YYYYMM table,
+ * so retention is a metadata operation instead of a large DELETE.
+ *
+ * An unpartitioned table is converted once on startup when convert-existing is true. The conversion
+ * rebuilds the table (primary key becomes (id, timestamp), which MySQL requires) and should be run
+ * in a maintenance window on large tables.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "audit.partitioning.enabled", havingValue = "true")
+public class AuditPartitionManager {
+
+    public enum RetentionMode { DROP, ARCHIVE }
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String FIND_PARTITIONS =
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'logs' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private static final String COUNT_TABLE_PARTITIONS =
+            "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final RetentionMode retentionMode;
+    private final boolean convertExisting;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 @Value("${audit.partitioning.months-ahead:3}") int monthsAhead,
+                                 @Value("${audit.partitioning.retention-months:24}") int retentionMonths,
+                                 @Value("${audit.partitioning.retention-mode:DROP}") RetentionMode retentionMode,
+                                 @Value("${audit.partitioning.convert-existing:false}") boolean convertExisting) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionMode = retentionMode;
+        this.convertExisting = convertExisting;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Pre-create upcoming monthly partitions and apply the retention
+     */
+    @Scheduled(cron = "${audit.partitioning.cron:0 30 2 * * *}")
+    public synchronized void maintainPartitions() {
+        try {
+            List<String> partitions = findPartitions();
+            if (partitions.isEmpty()) {
+                if (!convertExisting) {
+                    log.warn("Table logs is not partitioned; set audit.partitioning.convert-existing=true to convert it");
+                    return;
+                }
+                convertTable();
+                partitions = findPartitions();
+            }
+
+            YearMonth current = YearMonth.now();
+            int created = createUpcoming(partitions, current.plusMonths(monthsAhead));
+            int expired = applyRetention(partitions, current.minusMonths(retentionMonths));
+
+            log.info("Audit partitions maintained: {} created, {} {} (retention {} months)",
+                    created, expired, retentionMode == RetentionMode.DROP ? "dropped" : "archived", retentionMonths);
+        } catch (Exception e) {
+            log.error("Audit partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * One-time conversion: monthly partitions from the oldest entry up to the current month
+     */
+    private void convertTable() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM logs", Timestamp.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+
+        StringJoiner definitions = new StringJoiner(", ");
+        for (YearMonth month = first; !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+            definitions.add(partitionDefinition(month));
+        }
+        definitions.add(FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+
+        log.warn("Converting table logs to monthly partitions starting {} (table rebuild)", first);
+        // NULL timestamps would all land in the first partition; the column becomes part of the key
+        jdbcTemplate.execute("UPDATE logs SET timestamp = CURRENT_TIMESTAMP WHERE timestamp IS NULL");
+        jdbcTemplate.execute("ALTER TABLE logs MODIFY timestamp DATETIME(6) NOT NULL, " +
+                "DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp)");
+        jdbcTemplate.execute("ALTER TABLE logs PARTITION BY RANGE COLUMNS(timestamp) (" + definitions + ")");
+    }
+
+    private int createUpcoming(List<String> partitions, YearMonth until) {
+        YearMonth last = partitions.stream()
+                .filter(name -> !FUTURE_PARTITION.equals(name))
+                .map(AuditPartitionManager::monthOf)
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+
+        StringJoiner definitions = new StringJoiner(", ");
+        int created = 0;
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(until); month = month.plusMonths(1)) {
+            definitions.add(partitionDefinition(month));
+            created++;
+        }
+        if (created > 0) {
+            // Splitting p_future is cheap as long as it is still empty
+            definitions.add(FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+            jdbcTemplate.execute("ALTER TABLE logs REORGANIZE PARTITION " + FUTURE_PARTITION +
+                    " INTO (" + definitions + ")");
+        }
+        return created;
+    }
+
+    private int applyRetention(List<String> partitions, YearMonth oldestKept) {
+        List<String> expired = new ArrayList<>();
+        for (String name : partitions) {
+            if (!FUTURE_PARTITION.equals(name) && monthOf(name).isBefore(oldestKept)) {
+                expired.add(name);
+            }
+        }
+
+        for (String name : expired) {
+            if (retentionMode == RetentionMode.ARCHIVE) {
+                archive(name);
+            }
+            jdbcTemplate.execute("ALTER TABLE logs DROP PARTITION " + name);
+            log.info("Audit partition {} {}", name, retentionMode == RetentionMode.DROP ? "dropped" : "archived");
+        }
+        return expired.size();
+    }
+
+    /**
+     * Swap the partition's rows into a standalone table (metadata only), leaving the partition empty.
+     * Safe to re-run after a failure at any step: each step checks what a previous run already did.
+     */
+    private void archive(String partition) {
+        String archiveTable = "logs_archive_" + partition.substring(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveTable + " LIKE logs");
+        if (isPartitioned(archiveTable)) {
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        }
+        if (hasRows(archiveTable)) {
+            // Exchanged by an earlier run that failed before dropping; exchanging again would swap the rows back
+            if (hasRows("logs PARTITION (" + partition + ")")) {
+                throw new IllegalStateException("Both " + archiveTable + " and partition " + partition + " hold rows");
+            }
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE logs EXCHANGE PARTITION " + partition + " WITH TABLE " + archiveTable);
+    }
+
+    private boolean isPartitioned(String table) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_TABLE_PARTITIONS, Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private boolean hasRows(String tableReference) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM " + tableReference + " LIMIT 1").isEmpty();
+    }
+
+    private List<String> findPartitions() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class);
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        LocalDate upperBound = month.plusMonths(1).atDay(1);
+        return "p" + month.format(PARTITION_SUFFIX) + " VALUES LESS THAN ('" + upperBound + " 00:00:00')";
+    }
+
+    private static YearMonth monthOf(String partition) {
+        return YearMonth.parse(partition.substring(1), PARTITION_SUFFIX);
+    }
+}
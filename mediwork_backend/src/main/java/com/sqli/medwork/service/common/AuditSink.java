@@ -0,0 +1,18 @@
+package com.sqli.medwork.service.common;
+
+import com.sqli.medwork.entity.Log;
+
+import java.util.List;
+
+/**
+ * Storage target for audit entries drained by {@link AuditLogWriter}.
+ * Selected with the audit.sink property (jdbc by default, journal for the file journal).
+ */
+public interface AuditSink {
+
+    /**
+     * Persist a batch of entries
+     * @param batch Entries in submission order
+     */
+    void write(List<Log> batch);
+}
@@ -0,0 +1,65 @@
+package com.sqli.medwork.service.common;
+
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.enums.SlotStatus;
+import com.sqli.medwork.enums.VisitStatus;
+import com.sqli.medwork.repository.SlotRepository;
+import com.sqli.medwork.repository.UserRepository;
+import com.sqli.medwork.repository.VisitRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Business gauges: visits awaiting doctor confirmation, temporarily locked slots and pending users.
+ *
+ * The counts are refreshed on a schedule and the gauges read the last value, so a Prometheus
+ * scrape never runs a query.
+ */
+@Slf4j
+@Service
+public class BusinessGauges {
+
+    private final VisitRepository visitRepository;
+    private final SlotRepository slotRepository;
+    private final UserRepository userRepository;
+
+    private final AtomicLong pendingConfirmations = new AtomicLong();
+    private final AtomicLong lockedSlots = new AtomicLong();
+    private final AtomicLong pendingUsers = new AtomicLong();
+
+    public BusinessGauges(VisitRepository visitRepository,
+                          SlotRepository slotRepository,
+                          UserRepository userRepository,
+                          MeterRegistry meterRegistry) {
+        this.visitRepository = visitRepository;
+        this.slotRepository = slotRepository;
+        this.userRepository = userRepository;
+
+        Gauge.builder("medwork.visits.pending.confirmation", pendingConfirmations, AtomicLong::get)
+                .description("Visits waiting for doctor confirmation")
+                .register(meterRegistry);
+        Gauge.builder("medwork.slots.locked", lockedSlots, AtomicLong::get)
+                .description("Slots temporarily locked by RH, waiting for the doctor")
+                .register(meterRegistry);
+        Gauge.builder("medwork.users.pending", pendingUsers, AtomicLong::get)
+                .description("Registered users waiting for a role")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.business.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            pendingConfirmations.set(visitRepository.countByStatus(VisitStatus.PENDING_DOCTOR_CONFIRMATION));
+            lockedSlots.set(slotRepository.countByStatus(SlotStatus.TEMPORARILY_LOCKED));
+            pendingUsers.set(userRepository.countByRole(Role.PENDING));
+        } catch (Exception e) {
+            // Keep the previous values; the next run retries
+            log.warn("Failed to refresh business gauges: {}", e.getMessage());
+        }
+    }
+}
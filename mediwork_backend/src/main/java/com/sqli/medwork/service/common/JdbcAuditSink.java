@@ -0,0 +1,34 @@
+package com.sqli.medwork.service.common;
+
+import com.sqli.medwork.entity.Log;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Default audit sink: one JDBC batch INSERT into the logs table per batch.
+ * Also used by the journal loader to ship sealed segments.
+ */
+@Service
+@RequiredArgsConstructor
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_LOG =
+            "INSERT INTO logs (performed_by, action_type, role, description, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<Log> batch) {
+        jdbcTemplate.batchUpdate(INSERT_LOG, batch, batch.size(), (ps, entry) -> {
+            ps.setString(1, entry.getPerformedBy());
+            ps.setString(2, entry.getActionType().name());
+            ps.setString(3, entry.getRole());
+            ps.setString(4, entry.getDescription());
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getTimestamp()));
+        });
+    }
+}
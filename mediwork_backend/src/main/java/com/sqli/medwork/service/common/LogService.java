@@ -1,27 +1,40 @@
 package com.sqli.medwork.service.common;
 
+import com.sqli.medwork.dto.response.CursorPageResponse;
+import com.sqli.medwork.dto.response.LogResponse;
 import com.sqli.medwork.entity.Log;
 import com.sqli.medwork.enums.LogActionType;
 import com.sqli.medwork.repository.LogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
- * Service for logging user actions and system events
+ * Service for logging user actions and system events.
+ * Entries are handed to the asynchronous {@link AuditLogWriter}; callers never wait for the insert.
+ * Inside a transaction the entry is only queued once it commits, so a rolled-back action is not audited.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LogService {
 
+    // Hard cap on page size for the audit query API
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final AuditLogWriter auditLogWriter;
     private final LogRepository logRepository;
 
     /**
-     * Log an action with proper error handling and fallback
+     * Log an action performed by the current user (or SYSTEM outside a request)
      */
     public void log(LogActionType actionType, String description) {
         try {
@@ -39,21 +52,96 @@ public class LogService {
                         .replace("ROLE_", "");
             }
 
-            // Create and save the log entry
+            log(actionType, description, email, role);
+
+        } catch (Exception e) {
+            // Fallback logging if the security context cannot be read
+            log.error("Failed to log action: {} - {}. Error: {}",
+                    actionType, description, e.getMessage());
+        }
+    }
+
+    /**
+     * Log an action on behalf of an explicit user and role
+     */
+    public void log(LogActionType actionType, String description, String performedBy, String role) {
+        try {
+            // Timestamp is taken now, not when the writer flushes
             Log logEntry = Log.builder()
-                    .performedBy(email)
+                    .performedBy(performedBy)
                     .actionType(actionType)
                     .role(role)
                     .description(description)
                     .timestamp(LocalDateTime.now())
                     .build();
 
-            logRepository.save(logEntry);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        auditLogWriter.submit(logEntry);
+                    }
+                });
+            } else {
+                auditLogWriter.submit(logEntry);
+            }
 
         } catch (Exception e) {
-            // Fallback logging if database logging fails
-            log.error("Failed to log action to database: {} - {}. Error: {}",
+            log.error("Failed to queue action log: {} - {}. Error: {}",
                     actionType, description, e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Search audit entries, newest first, with keyset pagination on (timestamp, id)
+     * @param actionType Optional action filter
+     * @param performedBy Optional user email filter
+     * @param role Optional role filter
+     * @param from Optional inclusive lower bound
+     * @param to Optional exclusive upper bound
+     * @param cursor Cursor from the previous page, null for the first page
+     * @param size Page size (capped)
+     * @return Page of entries with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LogResponse> searchLogs(LogActionType actionType, String performedBy, String role,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        AuditCursor position = AuditCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<Log> rows = logRepository.findPage(actionType, performedBy, role, from, to,
+                position != null ? position.timestamp() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Log> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Log last = page.get(page.size() - 1);
+            nextCursor = new AuditCursor(last.getTimestamp(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<LogResponse>builder()
+                .items(page.stream().map(this::toResponse).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Map an audit entry to its API representation
+     */
+    public LogResponse toResponse(Log entry) {
+        return LogResponse.builder()
+                .id(entry.getId())
+                .performedBy(entry.getPerformedBy())
+                .actionType(entry.getActionType())
+                .role(entry.getRole())
+                .description(entry.getDescription())
+                .timestamp(entry.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.sqli.medwork.service.common.journal;
+
+import com.sqli.medwork.entity.Log;
+import com.sqli.medwork.enums.LogActionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, segmented file journal for audit entries (audit.sink=journal).
+ *
+ * Records are appended to a memory-mapped active segment; when it is full or older than
+ * max-segment-age it is sealed (renamed *.sealed) and a new one is started. Sealed segments
+ * are shipped to the logs table by {@link JournalSegmentLoader} and then removed.
+ * A segment left active by a crash is recovered and sealed on startup.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "audit.sink", havingValue = "journal")
+public class AuditJournal {
+
+    private static final String ACTIVE_SUFFIX = ".seg";
+    private static final String SEALED_SUFFIX = ".sealed";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexIntervalBytes;
+    private final long maxSegmentAgeMs;
+    private final boolean retainLoaded;
+
+    private final ConcurrentSkipListMap<Long, JournalSegment> sealedSegments = new ConcurrentSkipListMap<>();
+    private volatile JournalSegment active;
+    private long nextSequence;
+
+    private final Counter appended;
+    private final Counter rotations;
+
+    public AuditJournal(MeterRegistry meterRegistry,
+                        @Value("${audit.journal.directory:./data/audit-journal}") String directory,
+                        @Value("${audit.journal.segment-size-mb:16}") int segmentSizeMb,
+                        @Value("${audit.journal.index-interval-bytes:4096}") int indexIntervalBytes,
+                        @Value("${audit.journal.max-segment-age-seconds:300}") long maxSegmentAgeSeconds,
+                        @Value("${audit.journal.retain-loaded:false}") boolean retainLoaded) {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentSizeMb * 1024 * 1024;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.maxSegmentAgeMs = maxSegmentAgeSeconds * 1000;
+        this.retainLoaded = retainLoaded;
+
+        this.appended = meterRegistry.counter("audit.journal.appended");
+        this.rotations = meterRegistry.counter("audit.journal.rotations");
+        meterRegistry.gauge("audit.journal.sealed.segments", sealedSegments, ConcurrentSkipListMap::size);
+    }
+
+    @PostConstruct
+    public synchronized void init() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> isSegmentFile(p, ACTIVE_SUFFIX) || isSegmentFile(p, SEALED_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long maxSequence = 0;
+        for (Path file : files) {
+            long sequence = sequenceOf(file);
+            maxSequence = Math.max(maxSequence, sequence);
+            JournalSegment segment = JournalSegment.open(sequence, file, indexIntervalBytes);
+            if (isSegmentFile(file, ACTIVE_SUFFIX)) {
+                // Left active by a previous run: keep its valid records and seal it
+                segment.moveTo(segmentPath(sequence, SEALED_SUFFIX));
+                log.info("Recovered audit journal segment {} ({} records)", sequence, segment.recordCount());
+            }
+            sealedSegments.put(sequence, segment);
+        }
+
+        nextSequence = maxSequence + 1;
+        active = newSegment();
+        log.info("Audit journal ready in {} ({} sealed segments pending)", directory.toAbsolutePath(), sealedSegments.size());
+    }
+
+    /**
+     * Append entries to the active segment, rotating when it is full
+     * @param batch Entries in submission order
+     */
+    public synchronized void append(List<Log> batch) {
+        for (Log entry : batch) {
+            byte[] record = AuditRecordCodec.encode(entry);
+            long millis = AuditRecordCodec.toMillis(entry.getTimestamp());
+            if (!active.append(record, millis)) {
+                rotate();
+                if (!active.append(record, millis)) {
+                    log.error("Audit record of {} bytes does not fit in an empty segment, skipped", record.length);
+                    continue;
+                }
+            }
+            appended.increment();
+        }
+    }
+
+    /**
+     * Seal the active segment once it is older than the maximum age, so quiet periods still get shipped
+     */
+    @Scheduled(fixedDelayString = "${audit.journal.rotation-check-ms:10000}")
+    public synchronized void sealIfExpired() {
+        if (active != null && active.recordCount() > 0 && System.currentTimeMillis() - active.openedAtMillis() >= maxSegmentAgeMs) {
+            rotate();
+        }
+    }
+
+    /**
+     * @return Sealed segments waiting to be loaded, oldest first
+     */
+    public List<JournalSegment> sealedSegments() {
+        return new ArrayList<>(sealedSegments.values());
+    }
+
+    /**
+     * Forget a segment whose records are now in the database and remove (or keep) its file
+     * @param segment Loaded segment
+     */
+    public void markLoaded(JournalSegment segment) {
+        sealedSegments.remove(segment.sequence());
+        try {
+            if (retainLoaded) {
+                segment.moveTo(segmentPath(segment.sequence(), ".loaded"));
+                segment.close();
+            } else {
+                // Unmap first: the file is only really released once no mapping refers to it
+                segment.close();
+                Files.deleteIfExists(segment.path());
+            }
+        } catch (IOException e) {
+            log.error("Failed to clean up loaded audit segment {}: {}", segment.path(), e.getMessage());
+        }
+    }
+
+    /**
+     * Query the records still held in the journal (active and sealed, not yet loaded), newest first
+     * @param from Inclusive lower bound, null for no bound
+     * @param to Exclusive upper bound, null for no bound
+     * @param actionType Optional action filter
+     * @param performedBy Optional user filter
+     * @param limit Maximum number of entries
+     * @return Matching entries
+     */
+    public List<Log> query(LocalDateTime from, LocalDateTime to, LogActionType actionType, String performedBy, int limit) {
+        long fromMillis = from != null ? AuditRecordCodec.toMillis(from) : Long.MIN_VALUE;
+        long toMillis = to != null ? AuditRecordCodec.toMillis(to) : Long.MAX_VALUE;
+
+        List<JournalSegment> segments = new ArrayList<>(sealedSegments.descendingMap().values());
+        JournalSegment current = active;
+        if (current != null) {
+            segments.add(0, current);
+        }
+
+        List<Log> result = new ArrayList<>();
+        for (JournalSegment segment : segments) {
+            segment.scan(fromMillis, toMillis, entry -> {
+                if ((actionType == null || actionType == entry.getActionType())
+                        && (performedBy == null || performedBy.equals(entry.getPerformedBy()))) {
+                    result.add(entry);
+                }
+            });
+            // Segments are in time order: once enough newer entries are found, older segments cannot contribute
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+
+        result.sort(Comparator.comparing(Log::getTimestamp).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        // Seal on shutdown so the loader ships the tail on next start
+        if (active != null && active.recordCount() > 0) {
+            seal(active);
+        } else if (active != null) {
+            active.close();
+            try {
+                Files.deleteIfExists(active.path());
+            } catch (IOException e) {
+                log.warn("Failed to remove empty audit segment {}: {}", active.path(), e.getMessage());
+            }
+        }
+        active = null;
+        sealedSegments.values().forEach(JournalSegment::close);
+        sealedSegments.clear();
+    }
+
+    private void rotate() {
+        seal(active);
+        active = newSegment();
+        rotations.increment();
+    }
+
+    private void seal(JournalSegment segment) {
+        try {
+            segment.moveTo(segmentPath(segment.sequence(), SEALED_SUFFIX));
+            sealedSegments.put(segment.sequence(), segment);
+            log.debug("Sealed audit segment {} ({} records, {} bytes)",
+                    segment.sequence(), segment.recordCount(), segment.sizeBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to seal audit segment " + segment.path(), e);
+        }
+    }
+
+    private JournalSegment newSegment() {
+        long sequence = nextSequence++;
+        try {
+            return JournalSegment.create(sequence, segmentPath(sequence, ACTIVE_SUFFIX), segmentBytes, indexIntervalBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create audit segment " + sequence, e);
+        }
+    }
+
+    private Path segmentPath(long sequence, String suffix) {
+        return directory.resolve(String.format("audit-%020d%s", sequence, suffix));
+    }
+
+    private static boolean isSegmentFile(Path path, String suffix) {
+        String name = path.getFileName().toString();
+        return name.startsWith("audit-") && name.endsWith(suffix);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("audit-".length(), name.indexOf('.')));
+    }
+}
@@ -0,0 +1,132 @@
+package com.sqli.medwork.service.common.journal;
+
+import com.sqli.medwork.entity.Log;
+import com.sqli.medwork.enums.LogActionType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary encoding of audit records in journal segments.
+ *
+ * Layout: [int payloadLength][int crc32(payload)][payload], payload being
+ * [long timestampMillis][str performedBy][str actionType][str role][str description]
+ * with str = [int byteLength, -1 for null][UTF-8 bytes].
+ * A zero length marks the end of written data in a segment; a CRC mismatch marks a torn write.
+ */
+public final class AuditRecordCodec {
+
+    /** Size of the length + CRC prefix */
+    public static final int RECORD_HEADER_BYTES = 8;
+
+    // Keeps a single record well below the segment size
+    private static final int MAX_DESCRIPTION_CHARS = 8_192;
+
+    private AuditRecordCodec() {
+    }
+
+    /**
+     * @param entry Audit entry
+     * @return Complete record (header + payload)
+     */
+    public static byte[] encode(Log entry) {
+        byte[] performedBy = bytes(entry.getPerformedBy());
+        byte[] actionType = bytes(entry.getActionType().name());
+        byte[] role = bytes(entry.getRole());
+        String description = entry.getDescription();
+        if (description != null && description.length() > MAX_DESCRIPTION_CHARS) {
+            description = description.substring(0, MAX_DESCRIPTION_CHARS);
+        }
+        byte[] descriptionBytes = bytes(description);
+
+        int payloadLength = Long.BYTES + strLength(performedBy) + strLength(actionType)
+                + strLength(role) + strLength(descriptionBytes);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + payloadLength);
+        buffer.putInt(payloadLength);
+        buffer.putInt(0); // CRC placeholder
+        buffer.putLong(toMillis(entry.getTimestamp()));
+        putStr(buffer, performedBy);
+        putStr(buffer, actionType);
+        putStr(buffer, role);
+        putStr(buffer, descriptionBytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER_BYTES, payloadLength);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Decode the payload of a record whose CRC has been checked
+     * @param payload Buffer positioned at the start of the payload
+     * @return Audit entry (id is null)
+     */
+    public static Log decode(ByteBuffer payload) {
+        long millis = payload.getLong();
+        String performedBy = getStr(payload);
+        String actionType = getStr(payload);
+        String role = getStr(payload);
+        String description = getStr(payload);
+        return Log.builder()
+                .timestamp(fromMillis(millis))
+                .performedBy(performedBy)
+                .actionType(LogActionType.valueOf(actionType))
+                .role(role)
+                .description(description)
+                .build();
+    }
+
+    /**
+     * @param segment Segment buffer
+     * @param payloadOffset Offset of the payload
+     * @param payloadLength Payload length
+     * @param expectedCrc CRC stored in the header
+     * @return true if the payload is intact
+     */
+    public static boolean checkCrc(ByteBuffer segment, int payloadOffset, int payloadLength, int expectedCrc) {
+        CRC32 crc = new CRC32();
+        ByteBuffer slice = segment.duplicate();
+        slice.limit(payloadOffset + payloadLength).position(payloadOffset);
+        crc.update(slice);
+        return (int) crc.getValue() == expectedCrc;
+    }
+
+    public static long toMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int strLength(byte[] value) {
+        return Integer.BYTES + (value != null ? value.length : 0);
+    }
+
+    private static void putStr(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getStr(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
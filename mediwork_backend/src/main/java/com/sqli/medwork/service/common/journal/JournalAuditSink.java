@@ -0,0 +1,27 @@
+package com.sqli.medwork.service.common.journal;
+
+import com.sqli.medwork.entity.Log;
+import com.sqli.medwork.service.common.AuditSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Audit sink appending to the file journal instead of the database (audit.sink=journal).
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "audit.sink", havingValue = "journal")
+public class JournalAuditSink implements AuditSink {
+
+    private final AuditJournal auditJournal;
+
+    @Override
+    public void write(List<Log> batch) {
+        auditJournal.append(batch);
+    }
+}
@@ -0,0 +1,310 @@
+package com.sqli.medwork.service.common.journal;
+
+import com.sqli.medwork.entity.Log;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * One memory-mapped journal segment file.
+ *
+ * The active segment is mapped read-write at its full capacity and only appended to
+ * (under the journal lock); readers see records up to the published write position.
+ * A sparse in-memory index maps the timestamp of a record every {@code indexIntervalBytes}
+ * to its offset, so time-bounded reads skip straight to the right region. The index is
+ * rebuilt by scanning when a segment is reopened after a restart.
+ *
+ * {@link #close()} unmaps the file right away instead of waiting for GC, so it can be deleted
+ * and its pages released; scans hold a read lock so a closing segment is never read after unmapping.
+ */
+@Slf4j
+public class JournalSegment {
+
+    static final int MAGIC = 0x4D574A31; // "MWJ1"
+    static final int HEADER_BYTES = 8;    // magic + version
+    private static final int VERSION = 1;
+
+    // sun.misc.Unsafe#invokeCleaner, looked up reflectively (jdk.unsupported); null if unavailable
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int indexIntervalBytes;
+    private final long openedAtMillis = System.currentTimeMillis();
+
+    private volatile Path path;
+    private volatile int writePosition;
+    private volatile int recordCount;
+    private volatile long minMillis = Long.MAX_VALUE;
+    private volatile long maxMillis = Long.MIN_VALUE;
+
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed; // guarded by closeLock
+
+    // Sparse index, guarded by this
+    private long[] indexMillis = new long[64];
+    private int[] indexOffsets = new int[64];
+    private int indexSize;
+    private int lastIndexedOffset = -1;
+
+    private JournalSegment(long sequence, Path path, MappedByteBuffer buffer, int indexIntervalBytes) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.indexIntervalBytes = indexIntervalBytes;
+    }
+
+    /**
+     * Create a new, empty active segment
+     */
+    static JournalSegment create(long sequence, Path path, int capacity, int indexIntervalBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(Integer.BYTES, VERSION);
+            JournalSegment segment = new JournalSegment(sequence, path, buffer, indexIntervalBytes);
+            segment.writePosition = HEADER_BYTES;
+            return segment;
+        }
+    }
+
+    /**
+     * Open an existing segment read-only, scanning it to rebuild the index and find the end of valid data
+     * (a torn last record from a crash is ignored)
+     */
+    static JournalSegment open(long sequence, Path path, int indexIntervalBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an audit journal segment: " + path);
+            }
+            JournalSegment segment = new JournalSegment(sequence, path, buffer, indexIntervalBytes);
+            segment.recover();
+            return segment;
+        }
+    }
+
+    /**
+     * Append an encoded record
+     * @return false if the segment has no room left (caller rotates)
+     */
+    boolean append(byte[] record, long timestampMillis) {
+        int position = writePosition;
+        if (position + record.length > capacity) {
+            return false;
+        }
+        buffer.put(position, record);
+        track(position, timestampMillis);
+        // Publishing the new position makes the record visible to readers
+        writePosition = position + record.length;
+        return true;
+    }
+
+    void force() {
+        closeLock.readLock().lock();
+        try {
+            if (!closed && !buffer.isReadOnly()) {
+                buffer.force();
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flush and unmap the file. The segment must not be appended to afterwards; scans return nothing.
+     */
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (!buffer.isReadOnly()) {
+                buffer.force();
+            }
+            closed = true;
+            unmap(buffer);
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rename the file once the segment stops receiving writes
+     */
+    void moveTo(Path target) throws IOException {
+        force();
+        Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+        path = target;
+    }
+
+    /**
+     * Visit every record with minMillis <= timestamp < maxMillis, in file order
+     */
+    public void scan(long fromMillis, long toMillis, Consumer<Log> consumer) {
+        if (recordCount == 0 || fromMillis > maxMillis || toMillis <= minMillis) {
+            return;
+        }
+        closeLock.readLock().lock();
+        try {
+            if (!closed) {
+                scanRecords(fromMillis, toMillis, consumer);
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void scanRecords(long fromMillis, long toMillis, Consumer<Log> consumer) {
+        int end = writePosition;
+        ByteBuffer view = buffer.duplicate();
+        int offset = startOffset(fromMillis);
+        while (offset + AuditRecordCodec.RECORD_HEADER_BYTES <= end) {
+            int payloadLength = view.getInt(offset);
+            if (payloadLength <= 0) {
+                break;
+            }
+            int payloadOffset = offset + AuditRecordCodec.RECORD_HEADER_BYTES;
+            long millis = view.getLong(payloadOffset);
+            if (millis >= fromMillis && millis < toMillis) {
+                view.limit(payloadOffset + payloadLength).position(payloadOffset);
+                consumer.accept(AuditRecordCodec.decode(view));
+                view.clear();
+            }
+            offset = payloadOffset + payloadLength;
+        }
+    }
+
+    /**
+     * Visit every record of the segment, in file order
+     */
+    public void scanAll(Consumer<Log> consumer) {
+        scan(Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int recordCount() {
+        return recordCount;
+    }
+
+    public int sizeBytes() {
+        return writePosition;
+    }
+
+    public long openedAtMillis() {
+        return openedAtMillis;
+    }
+
+    public long minMillis() {
+        return minMillis;
+    }
+
+    public long maxMillis() {
+        return maxMillis;
+    }
+
+    private void recover() {
+        int offset = HEADER_BYTES;
+        while (offset + AuditRecordCodec.RECORD_HEADER_BYTES <= capacity) {
+            int payloadLength = buffer.getInt(offset);
+            int payloadOffset = offset + AuditRecordCodec.RECORD_HEADER_BYTES;
+            if (payloadLength <= 0 || payloadOffset + payloadLength > capacity
+                    || !AuditRecordCodec.checkCrc(buffer, payloadOffset, payloadLength, buffer.getInt(offset + Integer.BYTES))) {
+                break;
+            }
+            track(offset, buffer.getLong(payloadOffset));
+            offset = payloadOffset + payloadLength;
+        }
+        writePosition = offset;
+    }
+
+    private synchronized void track(int offset, long millis) {
+        if (lastIndexedOffset < 0 || offset - lastIndexedOffset >= indexIntervalBytes) {
+            if (indexSize == indexMillis.length) {
+                indexMillis = Arrays.copyOf(indexMillis, indexSize * 2);
+                indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            }
+            indexMillis[indexSize] = millis;
+            indexOffsets[indexSize] = offset;
+            indexSize++;
+            lastIndexedOffset = offset;
+        }
+        recordCount++;
+        minMillis = Math.min(minMillis, millis);
+        maxMillis = Math.max(maxMillis, millis);
+    }
+
+    /**
+     * Offset to start scanning from for a lower time bound. Timestamps are taken on caller threads
+     * and may be very slightly out of order, so the scan starts one index entry earlier than the match.
+     */
+    private synchronized int startOffset(long fromMillis) {
+        if (indexSize == 0) {
+            return HEADER_BYTES;
+        }
+        int low = 0;
+        int high = indexSize - 1;
+        int match = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexMillis[mid] < fromMillis) {
+                match = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return indexOffsets[Math.max(0, match - 1)];
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return; // Released when the buffer is garbage collected
+        }
+        try {
+            INVOKE_CLEANER.invoke(buffer);
+        } catch (Throwable e) {
+            log.warn("Could not unmap audit segment buffer: {}", e.getMessage());
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.sqli.medwork.service.common.journal;
+
+import com.sqli.medwork.entity.Log;
+import com.sqli.medwork.service.common.JdbcAuditSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ships sealed journal segments into the logs table in bulk.
+ *
+ * Each segment is inserted in one transaction (JDBC batches of load-batch-size rows) and then
+ * removed from the journal. A crash between commit and removal re-loads the segment on the
+ * next run, so delivery is at-least-once.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "audit.sink", havingValue = "journal")
+public class JournalSegmentLoader {
+
+    private final AuditJournal auditJournal;
+    private final JdbcAuditSink jdbcAuditSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Counter loadedRecords;
+    private final Counter loadedSegments;
+
+    public JournalSegmentLoader(AuditJournal auditJournal,
+                                JdbcAuditSink jdbcAuditSink,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${audit.journal.load-batch-size:1000}") int batchSize) {
+        this.auditJournal = auditJournal;
+        this.jdbcAuditSink = jdbcAuditSink;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.loadedRecords = meterRegistry.counter("audit.journal.loaded.records");
+        this.loadedSegments = meterRegistry.counter("audit.journal.loaded.segments");
+    }
+
+    @Scheduled(fixedDelayString = "${audit.journal.loader-interval-ms:30000}")
+    public void loadSealedSegments() {
+        for (JournalSegment segment : auditJournal.sealedSegments()) {
+            try {
+                long start = System.nanoTime();
+                int count = load(segment);
+                auditJournal.markLoaded(segment);
+                loadedSegments.increment();
+                loadedRecords.increment(count);
+                log.info("Loaded audit segment {} ({} records, {} ms)",
+                        segment.sequence(), count, (System.nanoTime() - start) / 1_000_000);
+            } catch (Exception e) {
+                // Keep order: retry this segment on the next run before any newer one
+                log.error("Failed to load audit segment {}: {}", segment.path(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private int load(JournalSegment segment) {
+        Integer count = transactionTemplate.execute(status -> {
+            List<Log> batch = new ArrayList<>(batchSize);
+            int[] total = {0};
+            segment.scanAll(entry -> {
+                batch.add(entry);
+                if (batch.size() == batchSize) {
+                    jdbcAuditSink.write(batch);
+                    total[0] += batch.size();
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                jdbcAuditSink.write(batch);
+                total[0] += batch.size();
+            }
+            return total[0];
+        });
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.sqli.medwork.service.notification;
+
+import com.sqli.medwork.entity.Slot;
+import com.sqli.medwork.entity.SpontaneousVisitDetails;
+import com.sqli.medwork.entity.Visit;
+import com.sqli.medwork.enums.ChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact change notification, published by the scheduling services and pushed to clients after commit.
+ * Clients refetch what they display; the payload only says what changed and for whom.
+ *
+ * @param type           What happened
+ * @param id             Visit, slot or spontaneous request ID, depending on the type
+ * @param status         New status of that entity
+ * @param doctorId       Doctor concerned, null for spontaneous requests
+ * @param collaboratorId Collaborator concerned, null for slot changes without a visit
+ * @param occurredAt     Time of the change
+ */
+public record ChangeEvent(ChangeType type, Long id, String status, Long doctorId, Long collaboratorId,
+                          LocalDateTime occurredAt) {
+
+    public static ChangeEvent ofVisit(ChangeType type, Visit visit) {
+        return new ChangeEvent(type, visit.getId(), visit.getStatus().name(),
+                visit.getDoctor().getId(), visit.getCollaborator().getId(), LocalDateTime.now());
+    }
+
+    /**
+     * @param collaboratorId Collaborator of the visit holding the slot, or null
+     */
+    public static ChangeEvent ofSlot(ChangeType type, Slot slot, Long collaboratorId) {
+        return new ChangeEvent(type, slot.getId(), slot.getStatus().name(),
+                slot.getDoctor().getId(), collaboratorId, LocalDateTime.now());
+    }
+
+    public static ChangeEvent ofSpontaneousRequest(ChangeType type, SpontaneousVisitDetails details) {
+        return new ChangeEvent(type, details.getId(), details.getSchedulingStatus().name(),
+                null, details.getCollaborator().getId(), LocalDateTime.now());
+    }
+}
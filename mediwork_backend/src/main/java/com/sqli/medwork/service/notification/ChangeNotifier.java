@@ -0,0 +1,46 @@
+package com.sqli.medwork.service.notification;
+
+import com.sqli.medwork.enums.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes {@link ChangeEvent}s to STOMP subscribers once the publishing transaction has committed.
+ *
+ * Doctor and collaborator receive the event on their own queue (/user/queue/changes, keyed by user ID),
+ * the roles of the change type on /topic/role/{ROLE}. Delivery is best effort: a client that was
+ * disconnected refetches its lists on reconnect.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeNotifier {
+
+    public static final String USER_QUEUE = "/queue/changes";
+    public static final String ROLE_TOPIC_PREFIX = "/topic/role/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        try {
+            sendToUser(event.doctorId(), event);
+            sendToUser(event.collaboratorId(), event);
+            for (Role role : event.type().getRoles()) {
+                messagingTemplate.convertAndSend(ROLE_TOPIC_PREFIX + role.name(), event);
+            }
+        } catch (MessagingException e) {
+            log.warn("Could not push {} for {}: {}", event.type(), event.id(), e.getMessage());
+        }
+    }
+
+    private void sendToUser(Long userId, ChangeEvent event) {
+        if (userId != null) {
+            messagingTemplate.convertAndSendToUser(userId.toString(), USER_QUEUE, event);
+        }
+    }
+}
@@ -4,12 +4,15 @@ import com.sqli.medwork.dto.response.SlotResponse;
 import com.sqli.medwork.dto.request.CreateSlotRequest;
 import com.sqli.medwork.entity.Slot;
 import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.ChangeType;
 import com.sqli.medwork.enums.Role;
 import com.sqli.medwork.enums.SlotStatus;
 import com.sqli.medwork.repository.SlotRepository;
 import com.sqli.medwork.repository.UserRepository;
+import com.sqli.medwork.service.notification.ChangeEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +37,7 @@ public class SlotService {
 
     private final SlotRepository slotRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== CORE US1 FUNCTIONALITY ====================
 
@@ -73,6 +77,7 @@ public class SlotService {
         Slot savedSlot = slotRepository.save(slot);
 
         log.info("Slot locked successfully: ID={}, Status={}", slotId, savedSlot.getStatus());
+        eventPublisher.publishEvent(ChangeEvent.ofSlot(ChangeType.SLOT_LOCKED, savedSlot, null));
         return buildSlotResponse(savedSlot);
     }
 
@@ -109,6 +114,7 @@ public class SlotService {
         Slot savedSlot = slotRepository.save(slot);
 
         log.info("Slot released successfully: ID={}, Status={}", slotId, savedSlot.getStatus());
+        eventPublisher.publishEvent(ChangeEvent.ofSlot(ChangeType.SLOT_RELEASED, savedSlot, null));
         return buildSlotResponse(savedSlot);
     }
 
@@ -272,6 +278,7 @@ public class SlotService {
             });
             slotRepository.saveAll(expiredSlots);
             log.info("Cleaned up {} expired locked slots", expiredSlots.size());
+            expiredSlots.forEach(slot -> eventPublisher.publishEvent(ChangeEvent.ofSlot(ChangeType.SLOT_RELEASED, slot, null)));
         }
 
         return expiredSlots.size();
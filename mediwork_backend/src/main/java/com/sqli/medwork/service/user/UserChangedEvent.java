@@ -0,0 +1,9 @@
+package com.sqli.medwork.service.user;
+
+/**
+ * Published by {@link UserService} when a user is created or their profile, role or archived state changes.
+ *
+ * @param userId Changed user, null when several users changed at once
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,124 @@
+package com.sqli.medwork.service.user;
+
+import com.sqli.medwork.dto.response.DoctorInfoResponse;
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory directory of active doctors and collaborators, served to the RH scheduling screens.
+ *
+ * Readers get an immutable snapshot without touching the database. A {@link UserChangedEvent}
+ * (after commit) only bumps a version; the next read rebuilds a new snapshot and swaps it in,
+ * so a burst of changes costs a single rebuild. The snapshot is also rebuilt after max-age
+ * so fields updated outside UserService (last login) do not drift for long.
+ */
+@Slf4j
+@Service
+public class UserDirectory {
+
+    private record Snapshot(long version,
+                            long builtAtMillis,
+                            List<DoctorInfoResponse> doctors,
+                            List<DoctorInfoResponse> collaborators,
+                            Map<Long, DoctorInfoResponse> doctorsById) {
+    }
+
+    private final UserRepository userRepository;
+    private final long maxAgeMs;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public UserDirectory(UserRepository userRepository,
+                         @Value("${user.directory.max-age-seconds:300}") long maxAgeSeconds) {
+        this.userRepository = userRepository;
+        this.maxAgeMs = maxAgeSeconds * 1000;
+    }
+
+    /**
+     * @return Active doctors
+     */
+    public List<DoctorInfoResponse> activeDoctors() {
+        return current().doctors();
+    }
+
+    /**
+     * @return Active collaborators
+     */
+    public List<DoctorInfoResponse> activeCollaborators() {
+        return current().collaborators();
+    }
+
+    /**
+     * @param doctorId Doctor ID
+     * @return The active doctor, or null if the ID is not an active doctor
+     */
+    public DoctorInfoResponse activeDoctor(Long doctorId) {
+        return current().doctorsById().get(doctorId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get()
+                && System.currentTimeMillis() - current.builtAtMillis() < maxAgeMs) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    private synchronized Snapshot rebuild() {
+        // Another reader may have rebuilt while this one waited for the lock
+        long target = version.get();
+        Snapshot current = snapshot;
+        if (current != null && current.version() == target
+                && System.currentTimeMillis() - current.builtAtMillis() < maxAgeMs) {
+            return current;
+        }
+
+        List<DoctorInfoResponse> doctors = load(Role.DOCTOR);
+        List<DoctorInfoResponse> collaborators = load(Role.COLLABORATOR);
+        Map<Long, DoctorInfoResponse> doctorsById = doctors.stream()
+                .collect(Collectors.toUnmodifiableMap(DoctorInfoResponse::getId, Function.identity()));
+
+        // A change committed during the load leaves version ahead of target, so the next read rebuilds again
+        Snapshot rebuilt = new Snapshot(target, System.currentTimeMillis(), doctors, collaborators, doctorsById);
+        snapshot = rebuilt;
+        log.debug("User directory rebuilt: {} doctors, {} collaborators", doctors.size(), collaborators.size());
+        return rebuilt;
+    }
+
+    private List<DoctorInfoResponse> load(Role role) {
+        return userRepository.findByRoleAndArchivedFalse(role).stream()
+                .map(UserDirectory::toInfo)
+                .toList();
+    }
+
+    private static DoctorInfoResponse toInfo(User user) {
+        return DoctorInfoResponse.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .matricule(user.getMatricule())
+                .dateCreation(user.getDateCreation())
+                .lastLogin(user.getLastLogin())
+                .archived(user.isArchived())
+                .build();
+    }
+}
@@ -0,0 +1,399 @@
+package com.sqli.medwork.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqli.medwork.config.BoundedPasswordEncoder;
+import com.sqli.medwork.dto.request.AdminUserCreationRequest;
+import com.sqli.medwork.dto.response.UserImportReport;
+import com.sqli.medwork.enums.LogActionType;
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.exception.InvalidImportFileException;
+import com.sqli.medwork.exception.PasswordHashingBusyException;
+import com.sqli.medwork.repository.UserRepository;
+import com.sqli.medwork.service.common.LogService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk creation of users from a CSV or NDJSON file (admin onboarding of a new site).
+ *
+ * The file is read line by line. Every row is validated like a single creation request and
+ * checked for duplicates against the emails/matricules of existing users, loaded once in one
+ * query, and of the rows accepted so far. Accepted rows are processed in batches: passwords are
+ * hashed in parallel on the bounded password encoder, then the batch is inserted with one JDBC
+ * batch statement in its own transaction. Rejected rows are reported with their line number;
+ * one audit entry summarises the import.
+ *
+ * CSV: a header line with firstName,lastName,email,matricule,password,role (any order);
+ * quoted fields are supported, line breaks inside fields are not.
+ * NDJSON: one AdminUserCreationRequest JSON object per line.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private enum Format { CSV, NDJSON }
+
+    private record PendingRow(int line, AdminUserCreationRequest request) {
+    }
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (first_name, last_name, email, password, matricule, role, archived, " +
+            "failed_login_attempts, date_creation) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("firstname", "lastname", "email", "matricule", "password", "role");
+
+    private final UserRepository userRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final LogService logService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+    private final int maxRows;
+    private final int hashParallelism;
+
+    public UserImportService(UserRepository userRepository,
+                             BoundedPasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             LogService logService,
+                             ApplicationEventPublisher eventPublisher,
+                             EntityManagerFactory entityManagerFactory,
+                             @Value("${user.import.batch-size:500}") int batchSize,
+                             @Value("${user.import.max-rows:50000}") int maxRows,
+                             @Value("${user.import.hash-parallelism:32}") int hashParallelism) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.logService = logService;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.hashParallelism = hashParallelism;
+    }
+
+    /**
+     * Import users from a file
+     * @param content File content (UTF-8)
+     * @param fileName Original file name, used with the content type to pick the format
+     * @param contentType Content type of the upload
+     * @return Counts and per-row errors
+     */
+    public UserImportReport importUsers(InputStream content, String fileName, String contentType) {
+        long start = System.nanoTime();
+        Format format = detectFormat(fileName, contentType);
+
+        Set<String> emails = new HashSet<>();
+        Set<String> matricules = new HashSet<>();
+        for (UserRepository.IdentityKeys keys : userRepository.findAllIdentityKeys()) {
+            emails.add(normalise(keys.getEmail()));
+            matricules.add(normalise(keys.getMatricule()));
+        }
+
+        List<UserImportReport.RowError> errors = new ArrayList<>();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        int totalRows = 0;
+        int imported = 0;
+        Map<String, Integer> header = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+                if (totalRows == maxRows) {
+                    errors.add(rowError(lineNumber, null, "Limite de " + maxRows + " lignes atteinte, import arrêté"));
+                    break;
+                }
+                totalRows++;
+
+                AdminUserCreationRequest request;
+                try {
+                    request = format == Format.CSV
+                            ? fromCsv(line, header)
+                            : objectMapper.readValue(line, AdminUserCreationRequest.class);
+                } catch (Exception e) {
+                    errors.add(rowError(lineNumber, null, "Ligne illisible : " + e.getMessage()));
+                    continue;
+                }
+
+                String problem = check(request, emails, matricules);
+                if (problem != null) {
+                    errors.add(rowError(lineNumber, request.getEmail(), problem));
+                    continue;
+                }
+
+                batch.add(new PendingRow(lineNumber, request));
+                if (batch.size() == batchSize) {
+                    imported += insertBatch(batch, errors);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                imported += insertBatch(batch, errors);
+            }
+        } catch (IOException e) {
+            throw new InvalidImportFileException("Fichier illisible : " + e.getMessage());
+        }
+
+        if (format == Format.CSV && header == null) {
+            throw new InvalidImportFileException("Fichier vide : en-tête CSV manquant");
+        }
+
+        if (imported > 0) {
+            // JDBC inserts bypass Hibernate: drop cached query results (e.g. an empty findByEmail for a new address)
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+            eventPublisher.publishEvent(new UserChangedEvent(null));
+        }
+        logService.log(LogActionType.CREATE_USER,
+                "Import en masse : " + imported + " utilisateurs créés, " + errors.size() + " lignes rejetées");
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("User import completed: {} rows, {} imported, {} rejected ({} ms)",
+                totalRows, imported, errors.size(), durationMs);
+
+        return UserImportReport.builder()
+                .totalRows(totalRows)
+                .imported(imported)
+                .failed(totalRows - imported)
+                .durationMs(durationMs)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Validate a row and reserve its email and matricule
+     * @return Error message, or null if the row is accepted
+     */
+    private String check(AdminUserCreationRequest request, Set<String> emails, Set<String> matricules) {
+        Set<ConstraintViolation<AdminUserCreationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<AdminUserCreationRequest> violation = violations.iterator().next();
+            return violation.getPropertyPath() + " : " + violation.getMessage();
+        }
+        String email = normalise(request.getEmail());
+        String matricule = normalise(request.getMatricule());
+        if (emails.contains(email)) {
+            return "Email déjà utilisé";
+        }
+        if (matricules.contains(matricule)) {
+            return "Matricule déjà utilisé";
+        }
+        emails.add(email);
+        matricules.add(matricule);
+        return null;
+    }
+
+    /**
+     * Hash and insert one batch
+     * @return Number of users inserted
+     */
+    private int insertBatch(List<PendingRow> rows, List<UserImportReport.RowError> errors) {
+        List<String> hashes = hashAll(rows);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(rows, hashes));
+            return rows.size();
+        } catch (DataIntegrityViolationException e) {
+            // One row was refused (key taken concurrently, value rejected by the column): retry row by row to isolate it
+            int inserted = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                List<PendingRow> row = List.of(rows.get(i));
+                List<String> hash = List.of(hashes.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(row, hash));
+                    inserted++;
+                } catch (DuplicateKeyException rowException) {
+                    errors.add(rowError(rows.get(i).line(), rows.get(i).request().getEmail(),
+                            "Email ou matricule déjà utilisé"));
+                } catch (DataIntegrityViolationException rowException) {
+                    errors.add(rowError(rows.get(i).line(), rows.get(i).request().getEmail(),
+                            "Insertion refusée : " + rowException.getMostSpecificCause().getMessage()));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * Hash the passwords of a batch in parallel, keeping at most hashParallelism of them queued
+     * so interactive logins still find room on the shared encoder
+     */
+    private List<String> hashAll(List<PendingRow> rows) {
+        List<Future<String>> futures = new ArrayList<>(rows.size());
+        int awaited = 0;
+        for (PendingRow row : rows) {
+            while (futures.size() - awaited >= hashParallelism) {
+                passwordEncoder.await(futures.get(awaited++));
+            }
+            while (true) {
+                try {
+                    futures.add(passwordEncoder.encodeAsync(row.request().getPassword()));
+                    break;
+                } catch (PasswordHashingBusyException e) {
+                    // Encoder saturated by other callers: wait for one of ours before retrying
+                    if (awaited == futures.size()) {
+                        throw e;
+                    }
+                    passwordEncoder.await(futures.get(awaited++));
+                }
+            }
+        }
+        return futures.stream().map(passwordEncoder::await).toList();
+    }
+
+    private void insert(List<PendingRow> rows, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> indexes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            indexes.add(i);
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, indexes, indexes.size(), (ps, i) -> {
+            AdminUserCreationRequest request = rows.get(i).request();
+            ps.setString(1, request.getFirstName().trim());
+            ps.setString(2, request.getLastName().trim());
+            ps.setString(3, request.getEmail().trim());
+            ps.setString(4, hashes.get(i));
+            ps.setString(5, request.getMatricule().trim());
+            ps.setString(6, request.getRole().name());
+            ps.setBoolean(7, false);
+            ps.setInt(8, 0);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    private static Format detectFormat(String fileName, String contentType) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.contains("ndjson")) {
+            return Format.NDJSON;
+        }
+        throw new InvalidImportFileException("Format non supporté : fichier .csv ou .ndjson attendu");
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        // Strip a UTF-8 BOM left by spreadsheet exports
+        List<String> names = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = CSV_COLUMNS.stream().filter(column -> !header.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("Colonnes manquantes dans l'en-tête CSV : " + String.join(", ", missing));
+        }
+        return header;
+    }
+
+    private static AdminUserCreationRequest fromCsv(String line, Map<String, Integer> header) {
+        List<String> values = parseCsvLine(line);
+        AdminUserCreationRequest request = new AdminUserCreationRequest();
+        request.setFirstName(value(values, header, "firstname"));
+        request.setLastName(value(values, header, "lastname"));
+        request.setEmail(value(values, header, "email"));
+        request.setMatricule(value(values, header, "matricule"));
+        request.setPassword(value(values, header, "password"));
+        String role = value(values, header, "role");
+        if (role != null && !role.isBlank()) {
+            try {
+                request.setRole(Role.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("rôle invalide " + role);
+            }
+        }
+        return request;
+    }
+
+    private static String value(List<String> values, Map<String, Integer> header, String column) {
+        int index = header.get(column);
+        return index < values.size() ? values.get(index) : null;
+    }
+
+    /**
+     * Split one CSV line on commas, honouring double-quoted fields ("" is an escaped quote)
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String normalise(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static UserImportReport.RowError rowError(int line, String email, String message) {
+        return UserImportReport.RowError.builder()
+                .line(line)
+                .email(email)
+                .message(message)
+                .build();
+    }
+}
@@ -3,6 +3,8 @@ package com.sqli.medwork.service.user;
 import com.sqli.medwork.dto.request.AdminUserCreationRequest;
 import com.sqli.medwork.dto.request.AdminUpdateUserRequest;
 import com.sqli.medwork.dto.response.AdminReadUserResponse;
+import com.sqli.medwork.dto.response.PageResponse;
+import com.sqli.medwork.dto.response.UserSummaryResponse;
 import com.sqli.medwork.dto.response.RoleCount;
 import com.sqli.medwork.entity.User;
 import com.sqli.medwork.enums.LogActionType;
@@ -12,23 +14,39 @@ import com.sqli.medwork.exception.EmailAlreadyExistsException;
 import com.sqli.medwork.exception.UserNotFoundException;
 import com.sqli.medwork.exception.MatriculeAlreadyExistsException;
 import com.sqli.medwork.exception.InvalidRoleException;
+import com.sqli.medwork.service.auth.PrincipalCache;
+import com.sqli.medwork.service.auth.SecurityVersionRegistry;
 import com.sqli.medwork.service.common.LogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import com.sqli.medwork.dto.response.DoctorInfoResponse;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    // Hard cap on page size for the admin user search
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final Sort SEARCH_SORT = Sort.by("lastName", "firstName", "id");
+    // Hard cap on page size for the admin listings
+    private static final int MAX_LIST_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final LogService logService;
+    private final PrincipalCache principalCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserDirectory userDirectory;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create new user by admin
@@ -53,6 +71,7 @@ public class UserService {
         user.setArchived(false);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
         logService.log(LogActionType.CREATE_USER, "Utilisateur créé par admin : " + request.getEmail());
     }
@@ -66,6 +85,7 @@ public class UserService {
     public void updateUserByAdmin(Long id, AdminUpdateUserRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
+        String previousEmail = user.getEmail();
 
         // Email validation
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
@@ -77,7 +97,7 @@ public class UserService {
 
         // Matricule validation
         if (request.getMatricule() != null && !request.getMatricule().equals(user.getMatricule())) {
-            if (userRepository.findAll().stream().anyMatch(u -> request.getMatricule().equals(u.getMatricule()) && !u.getId().equals(id))) {
+            if (userRepository.existsByMatriculeAndIdNot(request.getMatricule(), id)) {
                 throw new MatriculeAlreadyExistsException("Matricule déjà utilisé");
             }
             user.setMatricule(request.getMatricule());
@@ -103,16 +123,26 @@ public class UserService {
             user.setRole(request.getRole());
         }
 
+        securityVersionRegistry.bump(user);
         userRepository.save(user);
+        principalCache.invalidate(previousEmail);
+        principalCache.invalidate(user.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         logService.log(LogActionType.UPDATE_USER, "Utilisateur mis à jour par admin : " + user.getEmail());
     }
 
     /**
-     * Get all users with PENDING role
-     * @return List of pending users
+     * List users as slim summaries, optionally restricted to one role
+     * @param role Role filter, null for all users
+     * @param page Zero-based page number
+     * @param size Page size (capped)
+     * @return Page of user summaries, in creation order
      */
-    public List<User> getPendingUsers() {
-        return userRepository.findByRole(Role.PENDING);
+    @Transactional(readOnly = true)
+    public PageResponse<UserSummaryResponse> getUserSummaries(Role role, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_LIST_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(Math.max(0, page), pageSize, Sort.by("id"));
+        return PageResponse.of(userRepository.findSummaries(role, pageable), summary -> summary);
     }
 
     /**
@@ -132,7 +162,10 @@ public class UserService {
 
         Role oldRole = user.getRole();
         user.setRole(role);
+        securityVersionRegistry.bump(user);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
         logService.log(LogActionType.UPDATE_USER,
                 "Rôle attribué à l'utilisateur " + user.getEmail() + " : " + oldRole + " → " + role);
@@ -147,6 +180,15 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
 
+        return toAdminReadUserResponse(user);
+    }
+
+    /**
+     * Convert User entity to AdminReadUserResponse DTO
+     * @param user User entity
+     * @return User details DTO
+     */
+    private AdminReadUserResponse toAdminReadUserResponse(User user) {
         AdminReadUserResponse dto = new AdminReadUserResponse();
         dto.setId(user.getId());
         dto.setFirstName(user.getFirstName());
@@ -199,7 +241,10 @@ public class UserService {
     public void archiveUser(Long id) {
         User user = getUserById(id);
         user.setArchived(true);
+        securityVersionRegistry.bump(user);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         logService.log(LogActionType.ARCHIVE_USER, "Utilisateur archivé : " + user.getEmail());
     }
 
@@ -212,7 +257,10 @@ public class UserService {
     public void restoreUser(Long id) {
         User user = getUserById(id);
         user.setArchived(false);
+        securityVersionRegistry.bump(user);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         logService.log(LogActionType.RESTORE_USER, "Utilisateur restauré : " + user.getEmail());
     }
 
@@ -231,31 +279,38 @@ public class UserService {
      * @return List of active users
      */
     public List<User> getActiveUsers() {
-        return userRepository.findAll().stream()
-                .filter(user -> !user.isArchived())
-                .toList();
+        return userRepository.findByArchivedFalse();
     }
 
     // ✅ ADDED: Search users by criteria (for admin use)
     /**
-     * Search users by email or name
-     * @param searchTerm Search term
-     * @return List of matching users
+     * Search users by prefix of email, matricule, first name, last name or "last first" name,
+     * filtered by role and archived state in the database
+     * @param searchTerm Search term, null or blank for no text filter
+     * @param role Optional role filter
+     * @param archived Optional archived filter
+     * @param page Zero-based page number
+     * @param size Page size (capped)
+     * @return Page of matching users, ordered by name
      */
-    public List<User> searchUsers(String searchTerm) {
-        if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return getAllUsers();
-        }
+    @Transactional(readOnly = true)
+    public PageResponse<AdminReadUserResponse> searchUsers(String searchTerm, Role role, Boolean archived,
+                                                           int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(Math.max(0, page), pageSize, SEARCH_SORT);
+        return PageResponse.of(userRepository.search(toPrefixPattern(searchTerm), role, archived, pageable),
+                this::toAdminReadUserResponse);
+    }
 
-        String term = searchTerm.toLowerCase().trim();
-        return userRepository.findAll().stream()
-                .filter(user ->
-                        user.getEmail().toLowerCase().contains(term) ||
-                                user.getFirstName().toLowerCase().contains(term) ||
-                                user.getLastName().toLowerCase().contains(term) ||
-                                user.getMatricule().toLowerCase().contains(term)
-                )
-                .toList();
+    /**
+     * Build an escaped LIKE prefix pattern, so user input cannot inject wildcards
+     */
+    private static String toPrefixPattern(String searchTerm) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return null;
+        }
+        String term = searchTerm.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
     }
 
     // ✅ ADDED: Validate user role assignment (for admin use)
@@ -302,9 +357,7 @@ public class UserService {
      * @return List of active doctors
      */
     public List<User> getActiveDoctors() {
-        return userRepository.findByRole(Role.DOCTOR).stream()
-                .filter(user -> !user.isArchived())
-                .toList();
+        return userRepository.findByRoleAndArchivedFalse(Role.DOCTOR);
     }
 
     // ✅ ADDED: Get active doctors as DTOs (for RH use)
@@ -312,14 +365,12 @@ public class UserService {
      * Get all active doctors as DTOs
      * 
      * Returns doctor information without sensitive data like password
-     * Used by RH users for visit scheduling
+     * Used by RH users for visit scheduling, served from the in-memory {@link UserDirectory}
      * 
      * @return List of doctor info DTOs
      */
     public List<DoctorInfoResponse> getActiveDoctorsAsDTOs() {
-        return getActiveDoctors().stream()
-                .map(this::convertToDoctorInfoResponse)
-                .toList();
+        return userDirectory.activeDoctors();
     }
 
     // ✅ ADDED: Convert User to DoctorInfoResponse
@@ -354,9 +405,7 @@ public class UserService {
      * @return List of active collaborators
      */
     public List<User> getActiveCollaborators() {
-        return userRepository.findByRole(Role.COLLABORATOR).stream()
-                .filter(user -> !user.isArchived())
-                .toList();
+        return userRepository.findByRoleAndArchivedFalse(Role.COLLABORATOR);
     }
 
     // ✅ ADDED: Get active collaborators as DTOs (for RH use)
@@ -364,14 +413,12 @@ public class UserService {
      * Get all active collaborators as DTOs
      * 
      * Returns collaborator information without sensitive data like password
-     * Used by RH users for visit scheduling
+     * Used by RH users for visit scheduling, served from the in-memory {@link UserDirectory}
      * 
      * @return List of collaborator info DTOs
      */
     public List<DoctorInfoResponse> getActiveCollaboratorsAsDTOs() {
-        return getActiveCollaborators().stream()
-                .map(this::convertToDoctorInfoResponse)
-                .toList();
+        return userDirectory.activeCollaborators();
     }
 
     // ✅ ADDED: Get doctor by ID as DTO (for RH use)
@@ -386,6 +433,12 @@ public class UserService {
      * @throws IllegalArgumentException if user is not a doctor
      */
     public DoctorInfoResponse getDoctorByIdAsDTO(Long doctorId) {
+        DoctorInfoResponse cached = userDirectory.activeDoctor(doctorId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Not an active doctor: load the user to report why
         User user = getUserById(doctorId);
         
         // Verify the user is a doctor
@@ -407,21 +460,20 @@ public class UserService {
      * @return User statistics
      */
     public UserStatistics getUserStatistics() {
-        List<User> allUsers = getAllUsers();
-
-        long totalUsers = allUsers.size();
-        long activeUsers = allUsers.stream().filter(user -> !user.isArchived()).count();
-        long archivedUsers = totalUsers - activeUsers;
-        long pendingUsers = allUsers.stream().filter(user -> user.getRole() == Role.PENDING).count();
+        UserRepository.StatisticsView stats = userRepository.aggregateStatistics();
 
         return UserStatistics.builder()
-                .totalUsers(totalUsers)
-                .activeUsers(activeUsers)
-                .archivedUsers(archivedUsers)
-                .pendingUsers(pendingUsers)
+                .totalUsers(orZero(stats.getTotalUsers()))
+                .activeUsers(orZero(stats.getActiveUsers()))
+                .archivedUsers(orZero(stats.getArchivedUsers()))
+                .pendingUsers(orZero(stats.getPendingUsers()))
                 .build();
     }
 
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
     // ✅ ADDED: Get my profile as DTO (for collaborator use)
     /**
      * Get current user's profile as DTO
@@ -13,15 +13,17 @@ import com.sqli.medwork.repository.SpontaneousVisitDetailsRepository;
 import com.sqli.medwork.entity.SpontaneousVisitDetails;
 import com.sqli.medwork.repository.RecurringSlotRepository;
 import com.sqli.medwork.repository.SlotRepository;
-import com.sqli.medwork.repository.LogRepository;
-import com.sqli.medwork.entity.Log;
+import com.sqli.medwork.service.common.LogService;
 import com.sqli.medwork.enums.LogActionType;
 import com.sqli.medwork.entity.RecurringSlot;
 import com.sqli.medwork.entity.Slot;
 import com.sqli.medwork.enums.VisitType;
+import com.sqli.medwork.enums.ChangeType;
+import com.sqli.medwork.service.notification.ChangeEvent;
 import com.sqli.medwork.dto.request.CreateVisitWithSlotRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,7 +49,8 @@ public class SpontaneousVisitService {
     private final RecurringSlotRepository recurringSlotRepository;
     private final SlotRepository slotRepository;
     private final VisitService visitService;
-    private final LogRepository logRepository;
+    private final LogService logService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new spontaneous visit request
@@ -66,6 +69,7 @@ public class SpontaneousVisitService {
             .build();
 
         spontaneousVisitDetailsRepository.save(details);
+        eventPublisher.publishEvent(ChangeEvent.ofSpontaneousRequest(ChangeType.SPONTANEOUS_REQUEST_SUBMITTED, details));
 
         return mapToResponse(details);
     }
@@ -188,13 +192,7 @@ public class SpontaneousVisitService {
         userEmail, id, 
         (cancellationReason != null && !cancellationReason.isBlank()) ? 
         String.format(" (raison: %s)", cancellationReason) : "");
-    Log logEntry = Log.builder()
-        .performedBy(userEmail)
-        .role("COLLABORATOR")
-        .actionType(LogActionType.CANCEL_VISITE)
-        .description(desc)
-        .build();
-    logRepository.save(logEntry);
+    logService.log(LogActionType.CANCEL_VISITE, desc, userEmail, "COLLABORATOR");
     }
 
     /**
@@ -217,12 +215,7 @@ public class SpontaneousVisitService {
             userEmail, id,
             (cancellationReason != null && !cancellationReason.isBlank()) ?
                 String.format(" (raison: %s)", cancellationReason) : "");
-        logRepository.save(Log.builder()
-            .performedBy(userEmail)
-            .role("RH/ADMIN")
-            .actionType(LogActionType.CANCEL_VISITE)
-            .description(descAlready)
-            .build());
+        logService.log(LogActionType.CANCEL_VISITE, descAlready, userEmail, "RH/ADMIN");
         return;
     }
 
@@ -233,12 +226,7 @@ public class SpontaneousVisitService {
         userEmail, id,
         (cancellationReason != null && !cancellationReason.isBlank()) ?
             String.format(" (raison: %s)", cancellationReason) : "");
-    logRepository.save(Log.builder()
-        .performedBy(userEmail)
-        .role("RH/ADMIN")
-        .actionType(LogActionType.CANCEL_VISITE)
-        .description(desc)
-        .build());
+    logService.log(LogActionType.CANCEL_VISITE, desc, userEmail, "RH/ADMIN");
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.sqli.medwork.service.visit;
+
+import com.sqli.medwork.dto.response.VisitResponse;
+import com.sqli.medwork.entity.Slot;
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.entity.Visit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps visit entities to {@link VisitResponse} DTOs.
+ * Stateless: also used directly by the JMH benchmarks (src/jmh).
+ */
+@Component
+public class VisitMapper {
+
+    /**
+     * Build visit response DTO
+     * @param visit Visit with collaborator, doctor, slot and creator loaded
+     * @return Visit response
+     */
+    public VisitResponse toResponse(Visit visit) {
+        return VisitResponse.builder()
+                .id(visit.getId())
+                .collaborator(buildUserInfoDto(visit.getCollaborator()))
+                .doctor(buildUserInfoDto(visit.getDoctor()))
+                .slot(buildSlotInfoDto(visit.getSlot()))
+                .visitType(visit.getVisitType())
+                .status(visit.getStatus())
+                .createdBy(buildUserInfoDto(visit.getCreatedBy()))
+                .createdAt(visit.getCreatedAt())
+                .updatedAt(visit.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Build user info DTO
+     */
+    private VisitResponse.UserInfoDto buildUserInfoDto(User user) {
+        return VisitResponse.UserInfoDto.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .matricule(user.getMatricule())
+                .build();
+    }
+
+    /**
+     * Build slot info DTO
+     */
+    private VisitResponse.SlotInfoDto buildSlotInfoDto(Slot slot) {
+        return VisitResponse.SlotInfoDto.builder()
+                .id(slot.getId())
+                .startTime(slot.getStartTime())
+                .endTime(slot.getEndTime())
+                .status(slot.getStatus().name())
+                .build();
+    }
+}
@@ -7,6 +7,7 @@ import com.sqli.medwork.dto.response.VisitWithSlotResponse;
 import com.sqli.medwork.entity.Slot;
 import com.sqli.medwork.entity.User;
 import com.sqli.medwork.entity.Visit;
+import com.sqli.medwork.enums.ChangeType;
 import com.sqli.medwork.enums.Role;
 import com.sqli.medwork.enums.SlotStatus;
 import com.sqli.medwork.enums.VisitStatus;
@@ -17,9 +18,11 @@ import com.sqli.medwork.repository.SlotRepository;
 import com.sqli.medwork.repository.UserRepository;
 import com.sqli.medwork.repository.VisitRepository;
 import com.sqli.medwork.service.common.LogService;
+import com.sqli.medwork.service.notification.ChangeEvent;
 import com.sqli.medwork.service.user.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,6 +51,8 @@ public class VisitService {
     private final UserRepository userRepository;
     private final LogService logService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VisitMapper visitMapper;
 
     // ==================== CORE US1 FUNCTIONALITY ====================
 
@@ -92,8 +97,9 @@ public class VisitService {
 
         log.info("Visit created successfully: ID={}, Collaborator={}, Doctor={}, Slot={}",
                 savedVisit.getId(), collaborator.getEmail(), doctor.getEmail(), slot.getId());
+        eventPublisher.publishEvent(ChangeEvent.ofSlot(ChangeType.SLOT_LOCKED, slot, collaborator.getId()));
 
-        return buildVisitResponse(savedVisit);
+        return visitMapper.toResponse(savedVisit);
     }
 
     // ✅ ADDED: Create visit with new slot (HR scheduling)
@@ -143,6 +149,7 @@ public class VisitService {
 
         log.info("Visit with slot created successfully: Visit ID={}, Slot ID={}, Collaborator={}, Doctor={}, Slot={}",
                 savedVisit.getId(), savedSlot.getId(), collaborator.getEmail(), doctor.getEmail(), savedSlot.getId());
+        eventPublisher.publishEvent(ChangeEvent.ofSlot(ChangeType.SLOT_LOCKED, savedSlot, collaborator.getId()));
 
         return buildVisitWithSlotResponse(savedVisit, savedSlot);
     }
@@ -177,7 +184,8 @@ public class VisitService {
         logService.log(LogActionType.VALIDATE_VISITE, "Visit confirmed: ID=" + visitId + ", Doctor=" + doctorUser.getEmail());
 
         log.info("Visit confirmed: ID={}, Doctor={}", visitId, doctorUser.getEmail());
-        return buildVisitResponse(savedVisit);
+        eventPublisher.publishEvent(ChangeEvent.ofVisit(ChangeType.VISIT_CONFIRMED, savedVisit));
+        return visitMapper.toResponse(savedVisit);
     }
 
     /**
@@ -209,7 +217,9 @@ public class VisitService {
         logService.log(LogActionType.CANCEL_VISITE, "Visit cancelled: ID=" + visitId + ", User=" + user.getEmail());
 
         log.info("Visit cancelled: ID={}, User={}", visitId, user.getEmail());
-        return buildVisitResponse(savedVisit);
+        eventPublisher.publishEvent(ChangeEvent.ofVisit(ChangeType.VISIT_CANCELLED, savedVisit));
+        eventPublisher.publishEvent(ChangeEvent.ofSlot(ChangeType.SLOT_RELEASED, slot, savedVisit.getCollaborator().getId()));
+        return visitMapper.toResponse(savedVisit);
     }
 
     // ==================== QUERY METHODS ====================
@@ -220,7 +230,7 @@ public class VisitService {
     public List<VisitResponse> getDoctorVisits(Long doctorId) {
         List<Visit> visits = visitRepository.findByDoctorId(doctorId);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -230,7 +240,7 @@ public class VisitService {
     public List<VisitResponse> getCollaboratorVisits(Long collaboratorId) {
         List<Visit> visits = visitRepository.findByCollaboratorId(collaboratorId);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -240,7 +250,7 @@ public class VisitService {
     public List<VisitResponse> getVisitsByStatus(VisitStatus status) {
         List<Visit> visits = visitRepository.findByStatus(status);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -250,7 +260,7 @@ public class VisitService {
     public List<VisitResponse> getVisitsByCreatedBy(Long createdById) {
         List<Visit> visits = visitRepository.findByCreatedById(createdById);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -260,7 +270,7 @@ public class VisitService {
     public List<VisitResponse> getAllVisits() {
         List<Visit> visits = visitRepository.findAll();
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -278,7 +288,7 @@ public class VisitService {
             throw new IllegalStateException("Access denied to visit");
         }
 
-        return buildVisitResponse(visit);
+        return visitMapper.toResponse(visit);
     }
 
     /**
@@ -287,7 +297,7 @@ public class VisitService {
     public List<VisitResponse> getVisitsByDateRange(LocalDateTime start, LocalDateTime end) {
         List<Visit> visits = visitRepository.findBySlotStartTimeBetween(start, end);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -339,7 +349,7 @@ public class VisitService {
 
         log.info("Found {} visits for doctor {} on date {}", visits.size(), doctorId, date);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -476,48 +486,6 @@ public class VisitService {
         }
     }
 
-    /**
-     * Build visit response DTO
-     */
-    private VisitResponse buildVisitResponse(Visit visit) {
-        return VisitResponse.builder()
-                .id(visit.getId())
-                .collaborator(buildUserInfoDto(visit.getCollaborator()))
-                .doctor(buildUserInfoDto(visit.getDoctor()))
-                .slot(buildSlotInfoDto(visit.getSlot()))
-                .visitType(visit.getVisitType())
-                .status(visit.getStatus())
-                .createdBy(buildUserInfoDto(visit.getCreatedBy()))
-                .createdAt(visit.getCreatedAt())
-                .updatedAt(visit.getUpdatedAt())
-                .build();
-    }
-
-    /**
-     * Build user info DTO
-     */
-    private VisitResponse.UserInfoDto buildUserInfoDto(User user) {
-        return VisitResponse.UserInfoDto.builder()
-                .id(user.getId())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .email(user.getEmail())
-                .matricule(user.getMatricule())
-                .build();
-    }
-
-    /**
-     * Build slot info DTO
-     */
-    private VisitResponse.SlotInfoDto buildSlotInfoDto(Slot slot) {
-        return VisitResponse.SlotInfoDto.builder()
-                .id(slot.getId())
-                .startTime(slot.getStartTime())
-                .endTime(slot.getEndTime())
-                .status(slot.getStatus().name())
-                .build();
-    }
-
     // ==================== DOCTOR-SPECIFIC METHODS ====================
 
     /**
@@ -533,7 +501,7 @@ public class VisitService {
 
         log.info("Found {} pending confirmations for doctor: {}", visits.size(), doctorId);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -550,7 +518,7 @@ public class VisitService {
 
         log.info("Found {} scheduled visits for doctor: {}", visits.size(), doctorId);
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -587,7 +555,9 @@ public class VisitService {
         logService.log(LogActionType.REFUSE_VISITE, "Visit rejected: ID=" + visitId + ", Doctor=" + doctor.getEmail());
 
         log.info("Visit rejected: ID={}, Doctor={}", visitId, doctor.getEmail());
-        return buildVisitResponse(savedVisit);
+        eventPublisher.publishEvent(ChangeEvent.ofVisit(ChangeType.VISIT_REJECTED, savedVisit));
+        eventPublisher.publishEvent(ChangeEvent.ofSlot(ChangeType.SLOT_RELEASED, slot, savedVisit.getCollaborator().getId()));
+        return visitMapper.toResponse(savedVisit);
     }
 
     /**
@@ -617,7 +587,7 @@ public class VisitService {
         logService.log(LogActionType.VALIDATE_VISITE, "Visit status updated: ID=" + visitId + ", Status=" + newStatus + ", Doctor=" + doctor.getEmail());
 
         log.info("Visit status updated: ID={}, Status={}, Doctor={}", visitId, newStatus, doctor.getEmail());
-        return buildVisitResponse(savedVisit);
+        return visitMapper.toResponse(savedVisit);
     }
 
     // ==================== ADDITIONAL VALIDATION METHODS ====================
@@ -779,7 +749,7 @@ public class VisitService {
         List<Visit> visits = visitRepository.findByCollaboratorId(collaboratorId);
 
         return visits.stream()
-                .map(this::buildVisitResponse)
+                .map(visitMapper::toResponse)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -11,24 +11,35 @@ CREATE TABLE IF NOT EXISTS users (
     failed_login_attempts INT DEFAULT 0,
     account_locked_until TIMESTAMP NULL,
     date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    last_login TIMESTAMP NULL
+    last_login TIMESTAMP NULL,
+    security_version INT NOT NULL DEFAULT 0,
+    search_name VARCHAR(511) GENERATED ALWAYS AS (LOWER(CONCAT(last_name, ' ', first_name))),
+    INDEX idx_users_last_name (last_name),
+    INDEX idx_users_first_name (first_name),
+    INDEX idx_users_search_name (search_name),
+    INDEX idx_users_role_archived (role, archived)
     );
 
 -- Refresh tokens table
+-- token_hash = SHA-256 of the raw token (the raw value is never stored).
+-- Existing databases are upgraded on startup by RefreshTokenDigestMigration (token digested into token_hash, then dropped).
 CREATE TABLE IF NOT EXISTS refresh_tokens (
                                               id BIGINT PRIMARY KEY AUTO_INCREMENT,
                                               user_id BIGINT NOT NULL,
-                                              token VARCHAR(512) NOT NULL UNIQUE,
+                                              token_hash BINARY(32) NOT NULL UNIQUE,
+    family_id VARCHAR(36),
     expiry_date TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     revoked BOOLEAN DEFAULT FALSE,
+    revoked_at TIMESTAMP NULL,
     device_info VARCHAR(255),
     last_used_at TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_token (token),
     INDEX idx_user (user_id),
     INDEX idx_expiry (expiry_date),
-    INDEX idx_user_revoked (user_id, revoked)
+    INDEX idx_user_revoked (user_id, revoked),
+    INDEX idx_revoked_at (revoked, revoked_at),
+    INDEX idx_family (family_id)
     );
 
 -- Logs table (updated: action_type widened to 64)
@@ -38,9 +49,20 @@ CREATE TABLE IF NOT EXISTS logs (
     action_type VARCHAR(64) NOT NULL,
     role VARCHAR(50),
     description TEXT,
-    timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_logs_timestamp (timestamp),
+    INDEX idx_logs_performed_by_timestamp (performed_by, timestamp),
+    INDEX idx_logs_action_type_timestamp (action_type, timestamp)
     );
 
+-- Partitioned layout applied by AuditPartitionManager (audit.partitioning.enabled=true):
+-- ALTER TABLE logs MODIFY timestamp DATETIME(6) NOT NULL, DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp);
+-- ALTER TABLE logs PARTITION BY RANGE COLUMNS(timestamp) (
+--     p202501 VALUES LESS THAN ('2025-02-01 00:00:00'),
+--     ...
+--     p_future VALUES LESS THAN (MAXVALUE)
+-- );
+
 -- ==================== MEDICAL VISIT SCHEDULING TABLES ====================
 
 -- Slots table for medical appointment time slots
@@ -77,15 +99,15 @@ CREATE TABLE IF NOT EXISTS visits (
     FOREIGN KEY (doctor_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (slot_id) REFERENCES slots(id) ON DELETE CASCADE,
     FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_collaborator (collaborator_id),
-    INDEX idx_doctor (doctor_id),
+    INDEX idx_visit_collaborator (collaborator_id),
+    INDEX idx_visit_doctor (doctor_id),
     INDEX idx_slot (slot_id),
-    INDEX idx_status (status),
+    INDEX idx_visit_status (status),
     INDEX idx_created_by (created_by),
     INDEX idx_created_at (created_at),
     INDEX idx_visit_type (visit_type),
     INDEX idx_collaborator_status (collaborator_id, status),
-    INDEX idx_doctor_status (doctor_id, status)
+    INDEX idx_visit_doctor_status (doctor_id, status)
 );
 -- Recurring slots table for recurring doctor availability
 CREATE TABLE IF NOT EXISTS recurring_slots (
@@ -0,0 +1,42 @@
+package com.sqli.medwork.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IsoTimeSerializersTest {
+
+    private final ObjectMapper mapper = new DateTimeConfig().objectMapper();
+
+    record Times(LocalDateTime at, LocalTime time, @JsonFormat(pattern = "HH:mm:ss") LocalTime withPattern) {
+    }
+
+    @Test
+    void localDateTimeMatchesIsoFormatter() throws Exception {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] nanos = {0, 1, 10, 100_000, 120_000_000, 123_456_789, 999_999_999};
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime value = LocalDateTime.of(random.nextInt(0, 10_000), random.nextInt(1, 13), random.nextInt(1, 29),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), nanos[i % nanos.length]);
+            assertEquals('"' + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + '"', mapper.writeValueAsString(value));
+        }
+        LocalDateTime farFuture = LocalDateTime.of(12_345, 1, 2, 3, 4);
+        assertEquals("\"+12345-01-02T03:04:00\"", mapper.writeValueAsString(farFuture));
+    }
+
+    @Test
+    void localTimeIsHourMinuteUnlessPropertyOverridesFormat() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2025, 8, 26, 3, 32, 15);
+        LocalTime time = LocalTime.of(7, 5, 42);
+
+        assertEquals("{\"at\":\"2025-08-26T03:32:15\",\"time\":\"07:05\",\"withPattern\":\"07:05:42\"}",
+                mapper.writeValueAsString(new Times(at, time, time)));
+    }
+}
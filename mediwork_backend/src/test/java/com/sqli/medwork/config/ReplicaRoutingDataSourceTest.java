@@ -0,0 +1,92 @@
+package com.sqli.medwork.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing against two embedded H2 databases, each holding a different marker row.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE marker (name VARCHAR(16)); INSERT INTO marker VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE marker (name VARCHAR(16)); INSERT INTO marker VALUES ('replica');"
+                + "CREATE TABLE replica_lag (seconds INT); INSERT INTO replica_lag VALUES (0)");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        ReplicaHealthMonitor monitor = monitor();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals("replica", readMarker(monitor, true));
+        assertEquals("primary", readMarker(monitor, false));
+        assertEquals(1.0, meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count());
+        assertEquals(0.0, meterRegistry.get("datasource.routing.connections").tag("target", "primary_fallback").counter().count());
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaLags() {
+        ReplicaHealthMonitor monitor = monitor();
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", readMarker(monitor, true));
+        assertEquals(30.0, meterRegistry.get("datasource.replica.lag.seconds").gauge().value());
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals("replica", readMarker(monitor, true));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaIsDown() {
+        ReplicaHealthMonitor monitor = monitor();
+        // Replica still marked usable: the failed connection itself triggers the fallback
+        replica.setUrl("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+
+        assertEquals("primary", readMarker(monitor, true));
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(1.0, meterRegistry.get("datasource.routing.connections").tag("target", "primary_fallback").counter().count());
+    }
+
+    private ReplicaHealthMonitor monitor() {
+        return new ReplicaHealthMonitor(replica, "SELECT seconds FROM replica_lag", 5, 1, meterRegistry);
+    }
+
+    private String readMarker(ReplicaHealthMonitor monitor, boolean readOnly) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, monitor, meterRegistry));
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
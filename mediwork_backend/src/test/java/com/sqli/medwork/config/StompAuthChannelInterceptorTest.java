@@ -0,0 +1,133 @@
+package com.sqli.medwork.config;
+
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.service.auth.JwtPrincipal;
+import com.sqli.medwork.service.auth.JwtPrincipalResolver;
+import com.sqli.medwork.service.auth.JwtService;
+import com.sqli.medwork.service.auth.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.security.Principal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthChannelInterceptorTest {
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private JwtPrincipalResolver jwtPrincipalResolver;
+
+    @InjectMocks
+    private StompAuthChannelInterceptor interceptor;
+
+    private static final JwtPrincipal DOCTOR = new JwtPrincipal(42L, "dr@medwork.com", Role.DOCTOR);
+
+    @Test
+    void connectNamesSessionAfterUserId() {
+        StompHeaderAccessor accessor = connect("s1", Instant.now().plusSeconds(600));
+
+        assertNotNull(accessor.getUser());
+        assertEquals("42", accessor.getUser().getName());
+    }
+
+    @Test
+    void connectWithoutTokenIsRejected() {
+        assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(frame(StompCommand.CONNECT, "s1", null, null), null));
+    }
+
+    @Test
+    void subscriptionsAreLimitedToOwnQueueAndRoleTopic() {
+        Principal doctor = connect("s1", Instant.now().plusSeconds(600)).getUser();
+
+        interceptor.preSend(frame(StompCommand.SUBSCRIBE, "s1", "/user/queue/changes", doctor), null);
+        interceptor.preSend(frame(StompCommand.SUBSCRIBE, "s1", "/topic/role/DOCTOR", doctor), null);
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "s1", "/topic/role/RH", doctor), null));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "s2", "/topic/role/DOCTOR", null), null));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SEND, "s1", "/topic/role/DOCTOR", doctor), null));
+    }
+
+    @Test
+    void subscriptionAfterTokenExpiryIsRejected() {
+        Principal doctor = connect("s1", Instant.now().minusSeconds(1)).getUser();
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "s1", "/user/queue/changes", doctor), null));
+    }
+
+    @Test
+    void deliveryToStaleSessionIsReplacedByError() {
+        connect("s1", Instant.now().plusSeconds(600));
+        Message<?> delivery = delivery("s1");
+
+        assertSame(delivery, interceptor.deliveryCheck().preSend(delivery, null));
+
+        // Security version bumped: the token no longer resolves to a principal
+        when(jwtPrincipalResolver.resolve(any())).thenReturn(null);
+        Message<?> replaced = interceptor.deliveryCheck().preSend(delivery("s1"), null);
+
+        assertEquals(StompCommand.ERROR, StompHeaderAccessor.wrap(replaced).getCommand());
+        assertNull(interceptor.deliveryCheck().preSend(delivery("s1"), null));
+    }
+
+    @Test
+    void disconnectForgetsSession() {
+        Principal doctor = connect("s1", Instant.now().plusSeconds(600)).getUser();
+
+        interceptor.preSend(frame(StompCommand.DISCONNECT, "s1", null, doctor), null);
+
+        assertNull(interceptor.deliveryCheck().preSend(delivery("s1"), null));
+    }
+
+    private StompHeaderAccessor connect(String sessionId, Instant expiresAt) {
+        VerifiedToken token = new VerifiedToken("dr@medwork.com", null, expiresAt, 42L, Role.DOCTOR, 0);
+        when(jwtService.verify("jwt")).thenReturn(token);
+        when(jwtPrincipalResolver.resolve(token)).thenReturn(DOCTOR);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.addNativeHeader("Authorization", "Bearer jwt");
+        accessor.setLeaveMutable(true);
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+        return accessor;
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId, String destination, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        accessor.setUser(user);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> delivery(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/topic/role/DOCTOR");
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,38 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginThrottleTest {
+
+    private static final String IP = "10.0.0.1";
+
+    @Test
+    void successfulAttemptsDoNotUseTheIpBucket() {
+        LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(), 5, 5, 2, 2, 100);
+
+        for (int i = 0; i < 10; i++) {
+            String email = "user" + i + "@medwork.com";
+            assertDoesNotThrow(() -> throttle.checkAttempt(email, IP));
+        }
+    }
+
+    @Test
+    void failedAttemptsExhaustTheIpBucket() {
+        LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(), 5, 5, 2, 2, 100);
+        throttle.recordFailure(IP);
+        throttle.recordFailure(IP);
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.checkAttempt("other@medwork.com", IP));
+    }
+
+    @Test
+    void zeroRefillIsRejectedAtStartup() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoginThrottle(new SimpleMeterRegistry(), 5, 5, 20, 0, 100));
+    }
+}
@@ -0,0 +1,109 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.entity.RefreshToken;
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.exception.RefreshTokenExpiredException;
+import com.sqli.medwork.repository.RefreshTokenRepository;
+import com.sqli.medwork.repository.UserRepository;
+import com.sqli.medwork.service.common.LogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final String RAW_TOKEN = "raw-refresh-token";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private LogService logService;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private ActivityWriteBehindBuffer activityWriteBehindBuffer;
+    @Mock
+    private RefreshTokenNegativeCache negativeCache;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    void rotationRecordsUseOfPresentedToken() {
+        RefreshToken current = token(LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.claimForRotation(eq(5L), any())).thenReturn(1);
+
+        refreshTokenService.rotateRefreshToken(RAW_TOKEN);
+
+        verify(activityWriteBehindBuffer).recordRefreshTokenUse(eq(5L), any());
+    }
+
+    @Test
+    void expiredTokenIsDeletedOnRotation() {
+        RefreshToken current = token(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(current));
+
+        assertThrows(RefreshTokenExpiredException.class, () -> refreshTokenService.rotateRefreshToken(RAW_TOKEN));
+
+        verify(refreshTokenRepository).delete(current);
+        verify(activityWriteBehindBuffer, never()).recordRefreshTokenUse(any(), any());
+    }
+
+    @Test
+    void replicaMissIsNotRememberedAsUnknownToken() {
+        // Read-only transactions are routed to the replica, which may not have the token yet
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            assertTrue(refreshTokenService.getUserByRefreshToken(RAW_TOKEN).isEmpty());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        verify(negativeCache, never()).markMissing(any());
+    }
+
+    @Test
+    void primaryMissIsRememberedAsUnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertFalse(refreshTokenService.updateDeviceInfo(RAW_TOKEN, "device"));
+
+        verify(negativeCache).markMissing(any());
+    }
+
+    private static RefreshToken token(LocalDateTime expiryDate) {
+        User user = User.builder().id(1L).email("collab@medwork.com").role(Role.COLLABORATOR).build();
+        return RefreshToken.builder()
+                .id(5L)
+                .user(user)
+                .tokenHash(RefreshTokenHasher.hash(RAW_TOKEN))
+                .familyId("family")
+                .expiryDate(expiryDate)
+                .revoked(false)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.sqli.medwork.service.auth;
+
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityVersionRegistryTest {
+
+    private static final String EMAIL = "collab@medwork.com";
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PrincipalCache principalCache;
+
+    // Stands for the users row: the repository answers with its persisted version
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(7L).email(EMAIL).password("x").matricule("M007").role(Role.COLLABORATOR).build();
+        when(userRepository.findSecurityVersionById(7L)).thenAnswer(inv -> Optional.of(user.getSecurityVersion()));
+    }
+
+    @Test
+    void bumpRejectsTokensIssuedBefore() {
+        SecurityVersionRegistry registry = newRegistry();
+        assertTrue(registry.isCurrent(7L, 0));
+
+        registry.bump(user);
+
+        assertFalse(registry.isCurrent(7L, 0));
+        assertTrue(registry.isCurrent(7L, 1));
+    }
+
+    @Test
+    void restartDoesNotTrustTokensIssuedBeforeBump() {
+        VerifiedToken preChangeToken = new VerifiedToken(EMAIL, null, null, 7L, Role.COLLABORATOR, 0);
+        newRegistry().bump(user);
+        user.setArchived(true);
+
+        // New node or restart: nothing cached, the version comes from the database
+        JwtPrincipalResolver resolver = new JwtPrincipalResolver(principalCache, newRegistry());
+        when(principalCache.getPrincipal(EMAIL)).thenReturn(user);
+
+        assertNull(resolver.resolve(preChangeToken));
+    }
+
+    @Test
+    void staleTokenFallsBackToUserRecord() {
+        newRegistry().bump(user);
+        JwtPrincipalResolver resolver = new JwtPrincipalResolver(principalCache, newRegistry());
+        when(principalCache.getPrincipal(EMAIL)).thenReturn(user);
+
+        assertSame(user, resolver.resolve(new VerifiedToken(EMAIL, null, null, 7L, Role.COLLABORATOR, 0)));
+        assertInstanceOf(JwtPrincipal.class, resolver.resolve(new VerifiedToken(EMAIL, null, null, 7L, Role.COLLABORATOR, 1)));
+    }
+
+    private SecurityVersionRegistry newRegistry() {
+        return new SecurityVersionRegistry(userRepository, new SimpleMeterRegistry(), 100, 300);
+    }
+}
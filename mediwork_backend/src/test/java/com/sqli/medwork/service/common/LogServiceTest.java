@@ -0,0 +1,64 @@
+package com.sqli.medwork.service.common;
+
+import com.sqli.medwork.enums.LogActionType;
+import com.sqli.medwork.repository.LogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LogServiceTest {
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+    @Mock
+    private LogRepository logRepository;
+
+    @InjectMocks
+    private LogService logService;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void entryIsQueuedAtOnceWithoutTransaction() {
+        logService.log(LogActionType.LOGIN_FAILURE, "failed", "user@medwork.com", "COLLABORATOR");
+
+        verify(auditLogWriter).submit(any());
+    }
+
+    @Test
+    void entryIsQueuedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        logService.log(LogActionType.UPDATE_USER, "updated", "admin@medwork.com", "ADMIN");
+        verify(auditLogWriter, never()).submit(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(auditLogWriter).submit(any());
+    }
+
+    @Test
+    void rolledBackEntryIsNeverQueued() {
+        TransactionSynchronizationManager.initSynchronization();
+        logService.log(LogActionType.UPDATE_USER, "updated", "admin@medwork.com", "ADMIN");
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(auditLogWriter, never()).submit(any());
+    }
+}
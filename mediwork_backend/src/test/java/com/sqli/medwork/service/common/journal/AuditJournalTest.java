@@ -0,0 +1,87 @@
+package com.sqli.medwork.service.common.journal;
+
+import com.sqli.medwork.entity.Log;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fullSegmentRollsOverToANewOne() throws IOException {
+        AuditJournal journal = journal();
+        // ~8 KB records: 200 of them do not fit in one 1 MB segment
+        journal.append(IntStream.range(0, 200).mapToObj(AuditJournalTest::largeEntry).toList());
+
+        assertFalse(journal.sealedSegments().isEmpty());
+        assertEquals(200, journal.query(null, null, null, null, 1_000).size());
+        journal.close();
+    }
+
+    @Test
+    void loadedSegmentIsClosedAndDeleted() throws IOException {
+        AuditJournal journal = journal();
+        journal.append(IntStream.range(0, 200).mapToObj(AuditJournalTest::largeEntry).toList());
+        JournalSegment sealed = journal.sealedSegments().get(0);
+
+        journal.markLoaded(sealed);
+
+        assertFalse(Files.exists(sealed.path()));
+        List<Log> entries = new ArrayList<>();
+        sealed.scanAll(entries::add);
+        assertTrue(entries.isEmpty());
+        journal.close();
+    }
+
+    @Test
+    void segmentLeftActiveIsRecoveredOnRestart() throws IOException {
+        AuditJournal crashed = journal();
+        crashed.append(IntStream.range(0, 5).mapToObj(JournalSegmentTest::entry).toList());
+        // No close(): the process died with the segment still active
+
+        AuditJournal restarted = journal();
+
+        assertEquals(1, restarted.sealedSegments().size());
+        assertEquals(5, restarted.sealedSegments().get(0).recordCount());
+        assertTrue(restarted.sealedSegments().get(0).path().toString().endsWith(".sealed"));
+        restarted.close();
+    }
+
+    @Test
+    void shutdownSealsTheActiveSegment() throws IOException {
+        AuditJournal journal = journal();
+        journal.append(IntStream.range(0, 3).mapToObj(JournalSegmentTest::entry).toList());
+        journal.close();
+
+        AuditJournal restarted = journal();
+
+        assertEquals(3, restarted.sealedSegments().get(0).recordCount());
+        restarted.close();
+    }
+
+    private AuditJournal journal() throws IOException {
+        AuditJournal journal = new AuditJournal(new SimpleMeterRegistry(), directory.toString(), 1, 4096, 300, false);
+        journal.init();
+        return journal;
+    }
+
+    private static Log largeEntry(int i) {
+        Log entry = JournalSegmentTest.entry(i);
+        entry.setDescription("x".repeat(8_000));
+        return entry;
+    }
+}
@@ -0,0 +1,154 @@
+package com.sqli.medwork.service.common.journal;
+
+import com.sqli.medwork.entity.Log;
+import com.sqli.medwork.enums.LogActionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final int CAPACITY = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsRoundTripThroughTheCodec() {
+        Log entry = entry(1);
+        byte[] record = AuditRecordCodec.encode(entry);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int payloadLength = buffer.getInt(0);
+
+        assertTrue(AuditRecordCodec.checkCrc(buffer, AuditRecordCodec.RECORD_HEADER_BYTES, payloadLength, buffer.getInt(Integer.BYTES)));
+        Log decoded = AuditRecordCodec.decode(buffer.position(AuditRecordCodec.RECORD_HEADER_BYTES));
+        assertEquals(entry.getDescription(), decoded.getDescription());
+        assertEquals(entry.getTimestamp(), decoded.getTimestamp());
+        assertEquals(entry.getActionType(), decoded.getActionType());
+    }
+
+    @Test
+    void crcMismatchIsDetected() {
+        byte[] record = AuditRecordCodec.encode(entry(1));
+        record[record.length - 1] ^= 0x01;
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+
+        assertFalse(AuditRecordCodec.checkCrc(buffer, AuditRecordCodec.RECORD_HEADER_BYTES, buffer.getInt(0), buffer.getInt(Integer.BYTES)));
+    }
+
+    @Test
+    void reopenedSegmentKeepsRecordsAndIndex() throws IOException {
+        Path path = directory.resolve("audit-1.seg");
+        JournalSegment segment = JournalSegment.create(1, path, CAPACITY, 256);
+        appendAll(segment, 100);
+        int size = segment.sizeBytes();
+        segment.close();
+
+        JournalSegment reopened = JournalSegment.open(1, path, 256);
+
+        assertEquals(100, reopened.recordCount());
+        assertEquals(size, reopened.sizeBytes());
+        List<Log> fromMiddle = new ArrayList<>();
+        reopened.scan(AuditRecordCodec.toMillis(entry(50).getTimestamp()), Long.MAX_VALUE, fromMiddle::add);
+        assertEquals(50, fromMiddle.size());
+        assertEquals("action 50", fromMiddle.get(0).getDescription());
+        reopened.close();
+    }
+
+    @Test
+    void truncatedTailRecordIsDroppedOnReopen() throws IOException {
+        Path path = directory.resolve("audit-1.seg");
+        JournalSegment segment = JournalSegment.create(1, path, CAPACITY, 256);
+        appendAll(segment, 10);
+        int size = segment.sizeBytes();
+        segment.close();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        JournalSegment reopened = JournalSegment.open(1, path, 256);
+
+        assertEquals(9, reopened.recordCount());
+        assertEquals(size - AuditRecordCodec.encode(entry(9)).length, reopened.sizeBytes());
+        reopened.close();
+    }
+
+    @Test
+    void corruptedRecordEndsRecovery() throws IOException {
+        Path path = directory.resolve("audit-1.seg");
+        JournalSegment segment = JournalSegment.create(1, path, CAPACITY, 256);
+        appendAll(segment, 10);
+        segment.close();
+        // Flip the last payload byte of the fifth record
+        int offset = JournalSegment.HEADER_BYTES;
+        for (int i = 0; i < 5; i++) {
+            offset += AuditRecordCodec.encode(entry(i)).length;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, offset - 1);
+            b.put(0, (byte) (b.get(0) ^ 0x01)).rewind();
+            channel.write(b, offset - 1);
+        }
+
+        JournalSegment reopened = JournalSegment.open(1, path, 256);
+
+        assertEquals(4, reopened.recordCount());
+        reopened.close();
+    }
+
+    @Test
+    void fullSegmentRefusesAppend() throws IOException {
+        int recordLength = AuditRecordCodec.encode(entry(0)).length;
+        JournalSegment segment = JournalSegment.create(1, directory.resolve("audit-1.seg"),
+                JournalSegment.HEADER_BYTES + 2 * recordLength, 256);
+
+        assertTrue(segment.append(AuditRecordCodec.encode(entry(0)), 0));
+        assertTrue(segment.append(AuditRecordCodec.encode(entry(1)), 1));
+        assertFalse(segment.append(AuditRecordCodec.encode(entry(2)), 2));
+        assertEquals(2, segment.recordCount());
+        segment.close();
+    }
+
+    @Test
+    void closedSegmentIsNotScanned() throws IOException {
+        JournalSegment segment = JournalSegment.create(1, directory.resolve("audit-1.seg"), CAPACITY, 256);
+        appendAll(segment, 3);
+        segment.close();
+
+        List<Log> entries = new ArrayList<>();
+        segment.scanAll(entries::add);
+
+        assertTrue(entries.isEmpty());
+    }
+
+    private static void appendAll(JournalSegment segment, int count) {
+        for (int i = 0; i < count; i++) {
+            Log entry = entry(i);
+            assertTrue(segment.append(AuditRecordCodec.encode(entry), AuditRecordCodec.toMillis(entry.getTimestamp())));
+        }
+    }
+
+    static Log entry(int i) {
+        return Log.builder()
+                .performedBy("user" + i + "@medwork.com")
+                .actionType(LogActionType.UPDATE_USER)
+                .role("ADMIN")
+                .description("action " + i)
+                .timestamp(START.plusSeconds(i))
+                .build();
+    }
+}
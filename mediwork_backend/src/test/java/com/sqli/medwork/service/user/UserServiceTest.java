@@ -0,0 +1,136 @@
+package com.sqli.medwork.service.user;
+
+import com.sqli.medwork.dto.request.AdminUpdateUserRequest;
+import com.sqli.medwork.entity.User;
+import com.sqli.medwork.enums.Role;
+import com.sqli.medwork.exception.MatriculeAlreadyExistsException;
+import com.sqli.medwork.repository.UserRepository;
+import com.sqli.medwork.service.auth.PrincipalCache;
+import com.sqli.medwork.service.auth.SecurityVersionRegistry;
+import com.sqli.medwork.service.common.LogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private LogService logService;
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private SecurityVersionRegistry securityVersionRegistry;
+    @Mock
+    private UserDirectory userDirectory;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    void statisticsComeFromAggregateQuery() {
+        when(userRepository.aggregateStatistics()).thenReturn(statistics(10L, 7L, 3L, 2L));
+
+        UserService.UserStatistics stats = userService.getUserStatistics();
+
+        assertEquals(10, stats.getTotalUsers());
+        assertEquals(7, stats.getActiveUsers());
+        assertEquals(3, stats.getArchivedUsers());
+        assertEquals(2, stats.getPendingUsers());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void statisticsOfEmptyTableAreZero() {
+        when(userRepository.aggregateStatistics()).thenReturn(statistics(0L, null, null, null));
+
+        UserService.UserStatistics stats = userService.getUserStatistics();
+
+        assertEquals(0, stats.getActiveUsers());
+        assertEquals(0, stats.getPendingUsers());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void matriculeChangeIsCheckedWithIndexedQuery() {
+        User user = user(1L, "M001");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.existsByMatriculeAndIdNot("M002", 1L)).thenReturn(false);
+
+        AdminUpdateUserRequest request = new AdminUpdateUserRequest();
+        request.setMatricule("M002");
+        userService.updateUserByAdmin(1L, request);
+
+        assertEquals("M002", user.getMatricule());
+        verify(userRepository).save(user);
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void matriculeTakenByAnotherUserIsRejected() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "M001")));
+        when(userRepository.existsByMatriculeAndIdNot("M002", 1L)).thenReturn(true);
+
+        AdminUpdateUserRequest request = new AdminUpdateUserRequest();
+        request.setMatricule("M002");
+
+        assertThrows(MatriculeAlreadyExistsException.class, () -> userService.updateUserByAdmin(1L, request));
+        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).findAll();
+    }
+
+    private static User user(Long id, String matricule) {
+        return User.builder()
+                .id(id)
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("jean.dupont@sqli.com")
+                .password("hash")
+                .matricule(matricule)
+                .role(Role.COLLABORATOR)
+                .build();
+    }
+
+    private static UserRepository.StatisticsView statistics(Long total, Long active, Long archived, Long pending) {
+        return new UserRepository.StatisticsView() {
+            @Override
+            public Long getTotalUsers() {
+                return total;
+            }
+
+            @Override
+            public Long getActiveUsers() {
+                return active;
+            }
+
+            @Override
+            public Long getArchivedUsers() {
+                return archived;
+            }
+
+            @Override
+            public Long getPendingUsers() {
+                return pending;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+//Admin audit log calls (keyset-paginated browsing)
+import api from '../config/api';
+
+export const logApi = {
+    /**
+     * Fetch one page of audit entries, newest first.
+     * filters: { actionType, performedBy, role, from, to } (all optional)
+     * Pass the previous response's nextCursor as cursor to load the next page.
+     */
+    getLogs: async (filters = {}, cursor = null, size = 50) => {
+        try {
+            const params = { size };
+            Object.entries(filters).forEach(([key, value]) => {
+                if (value !== undefined && value !== null && value !== '') {
+                    params[key] = value;
+                }
+            });
+            if (cursor) {
+                params.cursor = cursor;
+            }
+            const response = await api.get('/admin/logs', { params });
+            return response.data;
+        } catch (error) {
+            if (error.response && error.response.data) {
+                throw new Error(error.response.data.message || 'Erreur lors de la récupération des journaux');
+            } else {
+                throw new Error('Erreur de connexion');
+            }
+        }
+    },
+};
@@ -2,9 +2,10 @@
 import api from '../config/api';
 
 export const userApi = {
-    getUsers: async () => {
+    // Paginated listings return { items, page, size, totalElements, totalPages } (page is zero-based)
+    getUsers: async (page = 0, size = 50) => {
         try {
-            const response = await api.get('/admin/users');
+            const response = await api.get('/admin/users', { params: { page, size } });
             return response.data;
         } catch (error) {
             if (error.response && error.response.data) {
@@ -15,6 +16,26 @@ export const userApi = {
         }
     },
 
+    // Server-side search: { q, role, archived } filters, zero-based page → { items, page, size, totalElements, totalPages }
+    searchUsers: async (filters = {}, page = 0, size = 20) => {
+        try {
+            const params = { page, size };
+            Object.entries(filters).forEach(([key, value]) => {
+                if (value !== undefined && value !== null && value !== '') {
+                    params[key] = value;
+                }
+            });
+            const response = await api.get('/admin/users/search', { params });
+            return response.data;
+        } catch (error) {
+            if (error.response && error.response.data) {
+                throw new Error(error.response.data.message || 'Erreur lors de la recherche des utilisateurs');
+            } else {
+                throw new Error('Erreur de connexion');
+            }
+        }
+    },
+
     createUser: async (userData) => {
         try {
             const response = await api.post('/admin/users', userData);
@@ -81,9 +102,9 @@ export const userApi = {
     },
 
     // Role-specific user fetching methods
-    getRHUsers: async () => {
+    getRHUsers: async (page = 0, size = 50) => {
         try {
-            const response = await api.get('/admin/users/rh');
+            const response = await api.get('/admin/users/rh', { params: { page, size } });
             return response.data;
         } catch (error) {
             if (error.response && error.response.data) {
@@ -94,9 +115,9 @@ export const userApi = {
         }
     },
 
-    getMedecinUsers: async () => {
+    getMedecinUsers: async (page = 0, size = 50) => {
         try {
-            const response = await api.get('/admin/users/medecin');
+            const response = await api.get('/admin/users/medecin', { params: { page, size } });
             return response.data;
         } catch (error) {
             if (error.response && error.response.data) {
@@ -107,9 +128,9 @@ export const userApi = {
         }
     },
 
-    getCollaborateurUsers: async () => {
+    getCollaborateurUsers: async (page = 0, size = 50) => {
         try {
-            const response = await api.get('/admin/users/collaborateur');
+            const response = await api.get('/admin/users/collaborateur', { params: { page, size } });
             return response.data;
         } catch (error) {
             if (error.response && error.response.data) {
@@ -19,17 +19,18 @@ const AdminDashboard = () => {
             setLoading(true);
             setError(null);
             try {
-                const users = await userApi.getUsers();
-                setTotalUsers(Array.isArray(users) ? users.length : 0);
+                // Only the totals are needed: request one-row pages
+                const users = await userApi.getUsers(0, 1);
+                setTotalUsers(users?.totalElements ?? 0);
 
-                const rh = await userApi.getRHUsers();
-                setTotalRH(Array.isArray(rh) ? rh.length : 0);
+                const rh = await userApi.getRHUsers(0, 1);
+                setTotalRH(rh?.totalElements ?? 0);
 
-                const medecins = await userApi.getMedecinUsers();
-                setTotalMedecin(Array.isArray(medecins) ? medecins.length : 0);
+                const medecins = await userApi.getMedecinUsers(0, 1);
+                setTotalMedecin(medecins?.totalElements ?? 0);
 
-                const collaborateurs = await userApi.getCollaborateurUsers();
-                setTotalCollaborateur(Array.isArray(collaborateurs) ? collaborateurs.length : 0);
+                const collaborateurs = await userApi.getCollaborateurUsers(0, 1);
+                setTotalCollaborateur(collaborateurs?.totalElements ?? 0);
             } catch (err) {
                 setError(err.message || 'Erreur lors du chargement des statistiques');
             } finally {
@@ -7,6 +7,7 @@ export default function CollaborateurUserList() {
   const [users, setUsers] = useState([]);
   const [page, setPage] = useState(0);
   const [rowsPerPage, setRowsPerPage] = useState(10);
+  const [totalPages, setTotalPages] = useState(0);
   const [loading, setLoading] = useState(false);
   const [showAddModal, setShowAddModal] = useState(false);
   const [showEditModal, setShowEditModal] = useState(false);
@@ -24,8 +25,9 @@ export default function CollaborateurUserList() {
   const loadCollaborateurUsers = async () => {
     setLoading(true);
     try {
-      const collaborateurUsers = await userApi.getCollaborateurUsers();
-      setUsers(collaborateurUsers);
+      const result = await userApi.getCollaborateurUsers(page, rowsPerPage);
+      setUsers(result.items);
+      setTotalPages(result.totalPages);
     } catch (error) {
       console.error('Erreur lors du chargement des collaborateurs:', error);
       // Show user-friendly error message
@@ -37,7 +39,7 @@ export default function CollaborateurUserList() {
 
   useEffect(() => {
     loadCollaborateurUsers();
-  }, []);
+  }, [page, rowsPerPage]);
 
   // CRUD Operations - UPDATED with proper error handling
   const handleAddUser = async () => {
@@ -139,10 +141,8 @@ export default function CollaborateurUserList() {
     setShowEditModal(true);
   };
 
-  // Pagination
-  const totalUsers = users.length;
-  const totalPages = Math.ceil(totalUsers / rowsPerPage);
-  const paginatedUsers = users.slice(page * rowsPerPage, (page + 1) * rowsPerPage);
+  // Pagination (server-side: users holds the current page only)
+  const paginatedUsers = users;
 
   const renderPageNumbers = () => {
     const pages = [];
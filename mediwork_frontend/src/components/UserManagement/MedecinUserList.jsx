@@ -7,6 +7,7 @@ export default function MedecinUserList() {
   const [users, setUsers] = useState([]);
   const [page, setPage] = useState(0);
   const [rowsPerPage, setRowsPerPage] = useState(10);
+  const [totalPages, setTotalPages] = useState(0);
   const [loading, setLoading] = useState(false);
   const [showAddModal, setShowAddModal] = useState(false);
   const [showEditModal, setShowEditModal] = useState(false);
@@ -24,8 +25,9 @@ export default function MedecinUserList() {
   const loadMedecinUsers = async () => {
     setLoading(true);
     try {
-      const medecinUsers = await userApi.getMedecinUsers();
-      setUsers(medecinUsers);
+      const result = await userApi.getMedecinUsers(page, rowsPerPage);
+      setUsers(result.items);
+      setTotalPages(result.totalPages);
     } catch (error) {
       console.error('Erreur lors du chargement des médecins:', error);
       // Show user-friendly error message
@@ -37,7 +39,7 @@ export default function MedecinUserList() {
 
   useEffect(() => {
     loadMedecinUsers();
-  }, []);
+  }, [page, rowsPerPage]);
 
   // CRUD Operations - UPDATED with proper error handling
   const handleAddUser = async () => {
@@ -139,10 +141,8 @@ export default function MedecinUserList() {
     setShowEditModal(true);
   };
 
-  // Pagination
-  const totalUsers = users.length;
-  const totalPages = Math.ceil(totalUsers / rowsPerPage);
-  const paginatedUsers = users.slice(page * rowsPerPage, (page + 1) * rowsPerPage);
+  // Pagination (server-side: users holds the current page only)
+  const paginatedUsers = users;
 
   const renderPageNumbers = () => {
     const pages = [];
@@ -17,10 +17,8 @@ const PendingUsersList = () => {
     setError(null);
     
     try {
-      const res = await api.get("/admin/users");
-      const data = Array.isArray(res.data) ? res.data : [];
-      const pending = data.filter(user => user.role === ROLES.PENDING);
-      setPendingUsers(pending);
+      const res = await api.get("/users/pending", { params: { size: 200 } });
+      setPendingUsers(res.data?.items ?? []);
       setError(null);
     } catch (error) {
       // ✅ CLEANED: Remove console.error for production
@@ -32,10 +30,8 @@ const PendingUsersList = () => {
           // console.log("🔄 Token expired, attempting refresh...");
           await refreshAccessToken();
           
-          const retryRes = await api.get("/admin/users");
-          const retryData = Array.isArray(retryRes.data) ? retryRes.data : [];
-          const retryPending = retryData.filter(user => user.role === ROLES.PENDING);
-          setPendingUsers(retryPending);
+          const retryRes = await api.get("/users/pending", { params: { size: 200 } });
+          setPendingUsers(retryRes.data?.items ?? []);
           setError(null);
         } catch (refreshError) {
           // ✅ CLEANED: Remove console.error for production
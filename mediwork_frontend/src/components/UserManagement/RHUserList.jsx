@@ -7,6 +7,7 @@ export default function RHUserList() {
   const [users, setUsers] = useState([]);
   const [page, setPage] = useState(0);
   const [rowsPerPage, setRowsPerPage] = useState(10);
+  const [totalPages, setTotalPages] = useState(0);
   const [loading, setLoading] = useState(false);
   const [showAddModal, setShowAddModal] = useState(false);
   const [showEditModal, setShowEditModal] = useState(false);
@@ -25,8 +26,9 @@ export default function RHUserList() {
     setLoading(true);
     try {
       // Use the new role-specific endpoint instead of filtering
-      const rhUsers = await userApi.getRHUsers();
-      setUsers(rhUsers);
+      const result = await userApi.getRHUsers(page, rowsPerPage);
+      setUsers(result.items);
+      setTotalPages(result.totalPages);
     } catch (error) {
       console.error('Erreur lors du chargement des RH:', error);
       // Show user-friendly error message
@@ -38,7 +40,7 @@ export default function RHUserList() {
 
   useEffect(() => {
     loadRHUsers();
-  }, []);
+  }, [page, rowsPerPage]);
 
   // CRUD Operations - UPDATED with proper error handling
   const handleAddUser = async () => {
@@ -130,10 +132,8 @@ export default function RHUserList() {
     setShowEditModal(true);
   };
 
-  // Pagination
-  const totalUsers = users.length;
-  const totalPages = Math.ceil(totalUsers / rowsPerPage);
-  const paginatedUsers = users.slice(page * rowsPerPage, (page + 1) * rowsPerPage);
+  // Pagination (server-side: users holds the current page only)
+  const paginatedUsers = users;
 
   const renderPageNumbers = () => {
     const pages = [];